@@ -0,0 +1,99 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Streams recorded arrival timestamps (milliseconds, ascending) from a trace file and
+// turns them into gaps, holding only one timestamp in memory however large the file is.
+//
+// Files ending in .bin are a plain sequence of big-endian longs. Anything else is read as
+// text with the timestamp in the first comma-separated column. Blank lines and # comments
+// are skipped anywhere, and so is one non-numeric header line before the first timestamp.
+class ArrivalTrace implements Closeable {
+    private final BufferedReader text;
+    private final DataInputStream binary;
+    private final String source;
+    private long previous = -1;
+    private long line = 0;
+    private boolean pastHeader = false;
+
+    public ArrivalTrace(Path path) throws IOException {
+        this.source = path.toString();
+        if (source.endsWith(".bin")) {
+            this.binary = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+            this.text = null;
+        } else {
+            this.text = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            this.binary = null;
+        }
+    }
+
+    // Milliseconds from one recorded arrival to the next, or -1 once the trace is used up.
+    // The first car of a run stands for the first recorded arrival, so the first call
+    // returns the gap between the first two.
+    public long nextGap() {
+        if (previous < 0) {
+            previous = nextTimestamp();
+            if (previous < 0) {
+                return -1;
+            }
+        }
+        long timestamp = nextTimestamp();
+        if (timestamp < 0) {
+            return -1;
+        }
+        long gap = Math.max(0, timestamp - previous);
+        previous = timestamp;
+        return gap;
+    }
+
+    private long nextTimestamp() {
+        try {
+            if (binary != null) {
+                try {
+                    return binary.readLong();
+                } catch (EOFException e) {
+                    return -1;
+                }
+            }
+            String row;
+            while ((row = text.readLine()) != null) {
+                line++;
+                int comma = row.indexOf(',');
+                String field = (comma < 0 ? row : row.substring(0, comma)).trim();
+                if (field.isEmpty() || field.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    long timestamp = Long.parseLong(field);
+                    pastHeader = true;
+                    return timestamp;
+                } catch (NumberFormatException e) {
+                    if (!pastHeader) {
+                        pastHeader = true;
+                        continue; // header
+                    }
+                    throw new IllegalArgumentException(source + ":" + line + ": not a timestamp: " + field);
+                }
+            }
+            return -1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read arrival trace " + source, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (binary != null) {
+            binary.close();
+        } else {
+            text.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+// A car is just its id, station and run; what happens to it is recorded in the CarStore
+class Car implements Runnable {
+    private final int id;
+    private final ServiceStation station;
+    private final SimulationHandle handle;
+
+    public Car(int id, ServiceStation station, SimulationHandle handle) 
+    {
+        this.id = id;
+        this.station = station;
+        this.handle = handle;
+    }
+
+    public int getId() 
+    {
+        return id;
+    }
+
+    public int getServiceClass() 
+    {
+        return station.getCars().serviceClass(id);
+    }
+
+    public String getName() 
+    {
+        return "Car-" + id;
+    }
+
+    @Override
+    public void run() 
+    {
+        try 
+        {
+            if (!station.enterQueue(this)) 
+            {
+                handle.carLost();
+            }
+        } 
+        catch (InterruptedException e) 
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
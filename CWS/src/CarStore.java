@@ -0,0 +1,68 @@
+import java.util.Arrays;
+
+// Per-car data for a run, held as parallel primitive arrays indexed by car id (25 bytes
+// a car) rather than as fields of a Car object per car.
+//
+// The arrival thread writes a car's class and arrival time before it starts the car, and
+// the pump that takes the car from the waiting area writes its service times. Starting
+// the car and the waiting-area handoff order those writes, so no other synchronization
+// is needed. Times are ms on the engine clock.
+class CarStore {
+    private byte[] serviceClass;
+    private long[] arrivalTime;
+    private long[] serviceStart;
+    private long[] finishTime;
+
+    // Ids 0 .. capacity - 1
+    public CarStore(int capacity) {
+        serviceClass = new byte[capacity];
+        arrivalTime = new long[capacity];
+        serviceStart = new long[capacity];
+        finishTime = new long[capacity];
+    }
+
+    public int capacity() {
+        return arrivalTime.length;
+    }
+
+    // For single-threaded readers such as JournalReplay that learn ids as they go
+    public void ensureCapacity(int car) {
+        if (car < arrivalTime.length) {
+            return;
+        }
+        int length = Math.max(car + 1, arrivalTime.length * 2);
+        serviceClass = Arrays.copyOf(serviceClass, length);
+        arrivalTime = Arrays.copyOf(arrivalTime, length);
+        serviceStart = Arrays.copyOf(serviceStart, length);
+        finishTime = Arrays.copyOf(finishTime, length);
+    }
+
+    public void arrive(int car, int carClass, long time) {
+        serviceClass[car] = (byte) carClass;
+        arrivalTime[car] = time;
+    }
+
+    public void startService(int car, long time) {
+        serviceStart[car] = time;
+    }
+
+    public void finishService(int car, long time) {
+        finishTime[car] = time;
+    }
+
+    public int serviceClass(int car) {
+        return serviceClass[car];
+    }
+
+    public long arrivalTime(int car) {
+        return arrivalTime[car];
+    }
+
+    public long serviceStart(int car) {
+        return serviceStart[car];
+    }
+
+    public long finishTime(int car) {
+        return finishTime[car];
+    }
+}
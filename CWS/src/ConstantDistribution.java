@@ -0,0 +1,17 @@
+import java.util.SplittableRandom;
+
+class ConstantDistribution implements Distribution {
+    private final long value;
+
+    ConstantDistribution(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Constant must not be negative");
+        }
+        this.value = value;
+    }
+
+    @Override
+    public long sample(SplittableRandom random) {
+        return value;
+    }
+}
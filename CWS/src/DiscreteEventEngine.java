@@ -0,0 +1,344 @@
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+// Runs the same station model as ThreadedEngine on a virtual clock: arrivals and service
+// completions are timestamped events popped in time order from a priority queue, so no
+// thread ever sleeps and millions of cars can be simulated in seconds.
+//
+// Cars that find the waiting area full wait outside in arrival order and move in as
+// slots free up, just like Car threads blocked on the waiting area. With the PRIORITY
+// waiting area the cars inside are kept in a heap ordered like PriorityWaitingArea.
+// Impatient cars balk on arrival or renege from the outside queue when their patience
+// event fires first, and come back with RETRY events.
+class DiscreteEventEngine implements SimulationEngine {
+    private static final int ARRIVAL = 0;
+    private static final int SERVICE_DONE = 1;
+    private static final int RETRY = 2;  // a car that gave up earlier comes back
+    private static final int RENEGE = 3; // an outside car's patience runs out
+
+    private static final class Event implements Comparable<Event> {
+        final long time;
+        final long seq; // tie-breaker so equal timestamps replay in scheduling order
+        final int type;
+        final int car;
+        final int pump;
+
+        Event(long time, long seq, int type, int car, int pump) {
+            this.time = time;
+            this.seq = seq;
+            this.type = type;
+            this.car = car;
+            this.pump = pump;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(seq, other.seq);
+        }
+    }
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>();
+    private long nextSeq = 0;
+
+    // Cars in the waiting area, FIFO waiting area only
+    private int[] inside;
+    private int insideHead = 0;
+
+    // Cars queued outside for a slot, in arrival order, as (attempt << 32 | car). A car
+    // that reneges stays in here until it reaches the front and is skipped then.
+    private long[] outside = new long[16];
+    private int outsideHead = 0;
+    private int outsideSize = 0;
+    private int outsideLive = 0;
+
+    private int[] idlePumps;
+    private int idleCount;
+
+    private ServiceStation station;
+    private StationConfig config;
+    private SimulationStats stats;
+    private EventJournal journal;
+    private SimulationHandle handle;
+    private CarStore cars;
+
+    // Impatient cars only (see StationConfig.carsMayLeave): whether each car is queued
+    // outside right now, and which attempt it is on
+    private boolean[] waitingOutside;
+    private int[] attempts;
+
+    // PRIORITY waiting area only: cars inside, keyed by entry time - priority * agingMs
+    private boolean priorityOrder;
+    private int[] priorities;
+    private long agingMs;
+    private int[] insideCars;
+    private long[] insideKeys;
+    private int insideSize = 0;
+
+    @Override
+    public void start(ServiceStation station, int totalCars, SimulationHandle handle) {
+        new Thread(() -> run(station, totalCars, handle), "Simulation").start();
+    }
+
+    // Runs on the caller's thread; nothing here blocks, so there is no need for another
+    @Override
+    public SimulationStats run(ServiceStation station, int totalCars) {
+        SimulationHandle handle = new SimulationHandle(totalCars);
+        run(station, totalCars, handle);
+        return handle.completion().join();
+    }
+
+    private void run(ServiceStation station, int totalCars, SimulationHandle handle) {
+        try {
+            simulate(station, totalCars, handle);
+        } catch (RuntimeException | Error e) {
+            handle.fail(e);
+            return;
+        }
+        handle.finish(station.getStats());
+    }
+
+    private void simulate(ServiceStation station, int totalCars, SimulationHandle handle) {
+        this.station = station;
+        this.config = station.getConfig();
+        this.stats = station.getStats();
+        this.journal = station.getJournal();
+        this.handle = handle;
+        int slotSize = station.getSlotSize();
+        cars = new CarStore(totalCars + 1); // ids start at 1, as in the threaded engine
+        station.setCarStore(cars);
+        if (config.carsMayLeave()) {
+            waitingOutside = new boolean[totalCars + 1];
+            attempts = new int[totalCars + 1];
+        }
+        priorityOrder = config.waitingArea == WaitingArea.Kind.PRIORITY;
+        ServiceClass[] classes = station.getServiceClasses();
+        priorities = new int[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            priorities[i] = classes[i].priority;
+        }
+        agingMs = config.agingMs;
+        inside = new int[slotSize];
+        insideCars = new int[slotSize];
+        insideKeys = new long[slotSize];
+        idlePumps = new int[station.getNumPumps()];
+        for (int i = station.getNumPumps() - 1; i >= 0; i--) {
+            idlePumps[idleCount++] = i; // Pump-1 is handed out first
+        }
+
+        if (totalCars > 0) {
+            schedule(0, ARRIVAL, 1, -1);
+        }
+
+        while (!events.isEmpty() && !handle.isCancelled()) {
+            Event event = events.poll();
+            long now = event.time;
+
+            if (event.type == ARRIVAL) {
+                handle.carArrived();
+                cars.arrive(event.car, station.nextServiceClass(), now);
+                if (journal.isEnabled()) {
+                    journal.recordArrival(now, event.car, cars.serviceClass(event.car), 0);
+                }
+                arrive(event.car, now, slotSize);
+                boolean more = event.car < totalCars && !handle.shouldStopArrivals();
+                long gap = more ? station.nextArrivalGap() : -1;
+                if (gap >= 0) {
+                    schedule(now + gap, ARRIVAL, event.car + 1, -1);
+                }
+            } else if (event.type == RETRY) {
+                arrive(event.car, now, slotSize);
+            } else if (event.type == RENEGE) {
+                if (waitingOutside[event.car]) {
+                    waitingOutside[event.car] = false;
+                    outsideLive--;
+                    stats.recordRenege();
+                    giveUp(event.car, EventLog.Type.RENEGES, now, slotSize);
+                }
+            } else {
+                cars.finishService(event.car, now);
+                stats.recordService(event.pump, cars, event.car);
+                handle.carServed();
+                if (journal.isEnabled()) {
+                    journal.record(EventLog.Type.SERVICE_FINISH, now, event.car, event.pump, -1, 0);
+                    journal.record(EventLog.Type.BAY_RELEASED, now, -1, event.pump, -1, 0);
+                }
+                idlePumps[idleCount++] = event.pump;
+            }
+
+            // Hand waiting cars to any free pumps
+            while (idleCount > 0 && inArea() > 0) {
+                int pump = idlePumps[--idleCount];
+                int car = priorityOrder ? popInside() : removeInside(slotSize);
+                int queueSize = inArea();
+                stats.recordQueueDepth(queueSize);
+                if (journal.isEnabled()) {
+                    journal.record(EventLog.Type.TAKES, now, car, pump, queueSize, 0);
+                    journal.record(EventLog.Type.BAY_ACQUIRED, now, -1, pump, -1, 0);
+                    journal.record(EventLog.Type.SERVICE_START, now, car, pump, -1, 0);
+                }
+                cars.startService(car, now);
+                schedule(now + station.nextServiceTime(pump, cars.serviceClass(car)), SERVICE_DONE, car, pump);
+                // The freed slot goes to the car queued longest outside, as in the threaded engine
+                admit(now, slotSize);
+            }
+        }
+    }
+
+    // A car turns up, first time or retrying: it balks, takes a free slot, or queues
+    // outside behind the cars already there
+    private void arrive(int car, long now, int slotSize) {
+        if (config.balkAt > 0 && inArea() >= config.balkAt) {
+            stats.recordBalk();
+            giveUp(car, EventLog.Type.BALKS, now, slotSize);
+            return;
+        }
+        if (inArea() < slotSize && outsideLive == 0) {
+            enterInside(car, now, slotSize);
+        } else {
+            pushOutside(car);
+            if (config.patience != null) {
+                waitingOutside[car] = true;
+                long patience = config.patience.sample(station.getRandom().car(car, attempts[car]));
+                schedule(now + patience, RENEGE, car, -1);
+            }
+        }
+    }
+
+    // Comes back after retryAfter while it has attempts left, otherwise is lost. Draws
+    // from the attempt's stream in the same order as ServiceStation.waitForSlot.
+    private void giveUp(int car, EventLog.Type reason, long now, int slotSize) {
+        if (journal.isEnabled()) {
+            journal.record(reason, now, car, -1, inArea(), 0);
+        }
+        int attempt = attempts[car];
+        if (attempt >= config.retries) {
+            stats.recordLost(config.revenuePerCar);
+            handle.carLost();
+            if (journal.isEnabled()) {
+                journal.record(EventLog.Type.LEAVES, now, car, -1, -1, 0);
+            }
+            return;
+        }
+        SplittableRandom draws = station.getRandom().car(car, attempt);
+        if (reason == EventLog.Type.RENEGES) {
+            config.patience.sample(draws);
+        }
+        attempts[car] = attempt + 1;
+        schedule(now + config.retryAfter.sample(draws), RETRY, car, -1);
+    }
+
+    private void enterInside(int car, long now, int slotSize) {
+        if (priorityOrder) {
+            pushInside(car, now - priorities[cars.serviceClass(car)] * agingMs);
+        } else {
+            inside[(insideHead + insideSize) % slotSize] = car;
+            insideSize++;
+        }
+        // Recorded when the car is in a slot, not while it is held outside a full area
+        int queueSize = inArea();
+        stats.recordQueueDepth(queueSize);
+        if (journal.isEnabled()) {
+            journal.record(EventLog.Type.ENTERS, now, car, -1, queueSize, 0);
+        }
+    }
+
+    private int removeInside(int slotSize) {
+        int car = inside[insideHead];
+        insideHead = (insideHead + 1) % slotSize;
+        insideSize--;
+        return car;
+    }
+
+    private int inArea() {
+        return insideSize;
+    }
+
+    // Moves the cars queued outside into free slots, skipping any that reneged
+    private void admit(long now, int slotSize) {
+        while (insideSize < slotSize && outsideLive > 0) {
+            long entry = popOutside();
+            int car = (int) entry;
+            if (waitingOutside != null) {
+                if (!waitingOutside[car] || attempts[car] != (int) (entry >>> 32)) {
+                    continue; // reneged; any later attempt has its own entry
+                }
+                waitingOutside[car] = false;
+            }
+            outsideLive--;
+            enterInside(car, now, slotSize);
+        }
+    }
+
+    // Equal keys go by car id, i.e. arrival order
+    private void pushInside(int car, long key) {
+        int i = insideSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(key, car, insideKeys[parent], insideCars[parent])) {
+                break;
+            }
+            insideCars[i] = insideCars[parent];
+            insideKeys[i] = insideKeys[parent];
+            i = parent;
+        }
+        insideCars[i] = car;
+        insideKeys[i] = key;
+    }
+
+    private int popInside() {
+        int top = insideCars[0];
+        int last = --insideSize;
+        int car = insideCars[last];
+        long key = insideKeys[last];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= last) {
+                break;
+            }
+            if (child + 1 < last && before(insideKeys[child + 1], insideCars[child + 1], insideKeys[child], insideCars[child])) {
+                child++;
+            }
+            if (!before(insideKeys[child], insideCars[child], key, car)) {
+                break;
+            }
+            insideCars[i] = insideCars[child];
+            insideKeys[i] = insideKeys[child];
+            i = child;
+        }
+        insideCars[i] = car;
+        insideKeys[i] = key;
+        return top;
+    }
+
+    private static boolean before(long key, int car, long otherKey, int otherCar) {
+        return key < otherKey || (key == otherKey && car < otherCar);
+    }
+
+    private void schedule(long time, int type, int car, int pump) {
+        events.add(new Event(time, nextSeq++, type, car, pump));
+    }
+
+    private void pushOutside(int car) {
+        if (outsideSize == outside.length) {
+            long[] grown = new long[outside.length * 2];
+            for (int i = 0; i < outsideSize; i++) {
+                grown[i] = outside[(outsideHead + i) % outside.length];
+            }
+            outside = grown;
+            outsideHead = 0;
+        }
+        int attempt = attempts == null ? 0 : attempts[car];
+        outside[(outsideHead + outsideSize) % outside.length] = (long) attempt << 32 | car;
+        outsideSize++;
+        outsideLive++;
+    }
+
+    private long popOutside() {
+        long entry = outside[outsideHead];
+        outsideHead = (outsideHead + 1) % outside.length;
+        outsideSize--;
+        return entry;
+    }
+}
@@ -0,0 +1,52 @@
+import java.util.SplittableRandom;
+
+// A model for arrival gaps or service times, in milliseconds. Samplers hold no mutable
+// state, so one instance can be shared by every pump as long as each passes its own stream.
+//
+// Specs as accepted by parse() and the -Dcws.arrivals / -Dcws.service switches:
+//   uniform:MIN:MAX          any value from MIN to MAX (the original model)
+//   constant:VALUE           always VALUE
+//   exp:MEAN                 exponential, i.e. Poisson arrivals at 1/MEAN per ms
+//   erlang:K:MEAN            sum of K exponentials, less spread than exp as K grows
+//   lognormal:MEAN:STDDEV    long right tail, typical of real service times
+//   empirical:V=W,V=W,...    VALUE V with relative weight W, e.g. from a measured histogram
+interface Distribution {
+    long sample(SplittableRandom random);
+
+    static Distribution parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        String[] args = parts.length > 1 ? parts[1].split(":") : new String[0];
+        try {
+            switch (parts[0].toLowerCase()) {
+                case "uniform":
+                    expectArgs(spec, args, 2);
+                    return new UniformDistribution(Long.parseLong(args[0]), Long.parseLong(args[1]));
+                case "constant":
+                    expectArgs(spec, args, 1);
+                    return new ConstantDistribution(Long.parseLong(args[0]));
+                case "exp":
+                    expectArgs(spec, args, 1);
+                    return new ErlangDistribution(1, Double.parseDouble(args[0]));
+                case "erlang":
+                    expectArgs(spec, args, 2);
+                    return new ErlangDistribution(Integer.parseInt(args[0]), Double.parseDouble(args[1]));
+                case "lognormal":
+                    expectArgs(spec, args, 2);
+                    return new LognormalDistribution(Double.parseDouble(args[0]), Double.parseDouble(args[1]));
+                case "empirical":
+                    expectArgs(spec, args, 1);
+                    return EmpiricalDistribution.parse(args[0]);
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + spec);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad number in distribution: " + spec, e);
+        }
+    }
+
+    private static void expectArgs(String spec, String[] args, int count) {
+        if (args.length != count) {
+            throw new IllegalArgumentException("Expected " + count + " parameter(s) in distribution: " + spec);
+        }
+    }
+}
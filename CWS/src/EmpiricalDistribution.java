@@ -0,0 +1,69 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+class EmpiricalDistribution implements Distribution {
+    private final long[] values;
+    private final double[] cumulative; // running share of the total weight, last entry 1.0
+
+    EmpiricalDistribution(long[] values, double[] weights) {
+        if (values.length == 0 || values.length != weights.length) {
+            throw new IllegalArgumentException("Empirical distribution needs one weight per value");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Empirical weights must not be negative");
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Empirical weights must not all be zero");
+        }
+        this.values = values.clone();
+        this.cumulative = new double[weights.length];
+        double running = 0;
+        int lastWeighted = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cumulative[i] = running / total;
+            if (weights[i] > 0) {
+                lastWeighted = i;
+            }
+        }
+        // Rounding must not leave a gap below 1.0 for trailing zero-weight bins to fill
+        Arrays.fill(cumulative, lastWeighted, cumulative.length, 1.0);
+    }
+
+    static EmpiricalDistribution parse(String bins) {
+        String[] entries = bins.split(",");
+        long[] values = new long[entries.length];
+        double[] weights = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] pair = entries[i].split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected VALUE=WEIGHT in empirical distribution: " + entries[i]);
+            }
+            values[i] = Long.parseLong(pair[0].trim());
+            weights[i] = Double.parseDouble(pair[1].trim());
+        }
+        return new EmpiricalDistribution(values, weights);
+    }
+
+    // Picks the first bin whose cumulative weight is strictly above u. A zero-weight bin has
+    // the same cumulative weight as the bin before it, so it can never be that first one.
+    @Override
+    public long sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1; // cumulative[high] = 1.0 > u
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > u) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return values[low];
+    }
+}
@@ -0,0 +1,25 @@
+import java.util.SplittableRandom;
+
+// Exponential when k is 1
+class ErlangDistribution implements Distribution {
+    private final int k;
+    private final double phaseMean;
+
+    ErlangDistribution(int k, double mean) {
+        if (k < 1 || mean <= 0) {
+            throw new IllegalArgumentException("Erlang needs k >= 1 and a positive mean");
+        }
+        this.k = k;
+        this.phaseMean = mean / k;
+    }
+
+    @Override
+    public long sample(SplittableRandom random) {
+        // The sum of k exponentials is -mean/k * ln of the product of k uniforms
+        double product = 1.0;
+        for (int i = 0; i < k; i++) {
+            product *= 1.0 - random.nextDouble(); // (0, 1], so the log stays finite
+        }
+        return Math.round(-phaseMean * Math.log(product));
+    }
+}
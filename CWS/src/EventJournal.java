@@ -0,0 +1,152 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Append-only binary record of every station event, written through memory-mapped
+// segments of the journal file. Writers claim a slot with one atomic add and store four
+// fields straight into the mapping, with no lock, no formatting and no system call, so
+// recording costs about as much as a counter increment.
+//
+// Layout (little-endian): a 24-byte header
+//   magic int, version short, record size short, record count long, pumps int, shards int
+// followed by 24-byte records
+//   time long (ms on the engine clock), car int, pump int, queue size int,
+//   type byte (EventLog.Type ordinal), shard byte, service class byte, 1 byte padding
+// car, pump and queue size are -1 where an event has none; the service class is only set
+// on ARRIVES and is 0 elsewhere. JournalReplay reads it back.
+class EventJournal {
+    static final int MAGIC = 0x434A5753; // "SWJC" little-endian, reads "CWSJ" in a hex dump
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 24;
+    // A whole number of records, so no record straddles two mappings
+    static final long SEGMENT_SIZE = RECORD_SIZE * (1L << 21);
+    private static final int MAX_SEGMENTS = 4096;
+
+    // Shared by stations that record nothing
+    static final EventJournal DISABLED = new EventJournal();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int pumps;
+    private final int shards;
+    private final AtomicLong nextRecord = new AtomicLong();
+    private final AtomicReferenceArray<MappedByteBuffer> segments;
+    private volatile boolean closed;
+    private long written; // records in the file once closed
+
+    private EventJournal() {
+        this.path = null;
+        this.channel = null;
+        this.pumps = 0;
+        this.shards = 0;
+        this.segments = null;
+    }
+
+    public EventJournal(Path path, int pumps, int shards) {
+        this.path = path;
+        this.pumps = pumps;
+        this.shards = shards;
+        this.segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create event journal " + path, e);
+        }
+        segment(0);
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    public void record(EventLog.Type type, long time, int car, int pump, int queueSize, int shard) {
+        record(type, time, car, pump, queueSize, shard, 0);
+    }
+
+    public void recordArrival(long time, int car, int serviceClass, int shard) {
+        record(EventLog.Type.ARRIVES, time, car, -1, -1, shard, serviceClass);
+    }
+
+    private void record(EventLog.Type type, long time, int car, int pump, int queueSize, int shard, int serviceClass) {
+        if (channel == null || closed) {
+            return;
+        }
+        long index = nextRecord.getAndIncrement();
+        long offset = index * RECORD_SIZE;
+        int segment = (int) (offset / SEGMENT_SIZE);
+        if (segment >= MAX_SEGMENTS) {
+            return; // past the size limit; close() reports the total as truncated
+        }
+        ByteBuffer buffer = segment(segment);
+        int at = (int) (offset % SEGMENT_SIZE);
+        buffer.putLong(at, time);
+        buffer.putInt(at + 8, car);
+        buffer.putInt(at + 12, pump);
+        buffer.putInt(at + 16, queueSize);
+        buffer.put(at + 20, (byte) type.ordinal());
+        buffer.put(at + 21, (byte) shard);
+        buffer.put(at + 22, (byte) serviceClass);
+    }
+
+    public void record(EventLog.Type type, int car, int pump, int queueSize, int shard) {
+        if (channel != null) {
+            record(type, System.currentTimeMillis(), car, pump, queueSize, shard);
+        }
+    }
+
+    private MappedByteBuffer segment(int index) {
+        MappedByteBuffer buffer = segments.get(index);
+        if (buffer != null) {
+            return buffer;
+        }
+        synchronized (this) {
+            buffer = segments.get(index);
+            if (buffer == null) {
+                try {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + index * SEGMENT_SIZE, SEGMENT_SIZE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot extend event journal " + path, e);
+                }
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                segments.set(index, buffer);
+            }
+            return buffer;
+        }
+    }
+
+    // Writes the header and trims the unused tail of the last segment. Call once every
+    // recording thread has stopped. Returns the number of records in the file, on later
+    // calls too.
+    public synchronized long close() {
+        if (channel == null || closed) {
+            return written;
+        }
+        closed = true;
+        long count = Math.min(nextRecord.get(), MAX_SEGMENTS * (SEGMENT_SIZE / RECORD_SIZE));
+        try {
+            for (int i = 0; i < MAX_SEGMENTS && segments.get(i) != null; i++) {
+                segments.get(i).force();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE)
+                    .putLong(count).putInt(pumps).putInt(shards).flip();
+            channel.write(header, 0);
+            channel.truncate(HEADER_SIZE + count * RECORD_SIZE);
+            channel.close();
+        } catch (IOException e) {
+            // The header is what matters; an untrimmed tail is ignored by readers
+            System.err.println("Event journal " + path + " not fully closed: " + e.getMessage());
+        }
+        written = count;
+        return count;
+    }
+}
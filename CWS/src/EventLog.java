@@ -0,0 +1,202 @@
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Station activity log kept off the hot path. A car or pump thread only copies a few
+// references into a preallocated record in a ring buffer; a background thread turns the
+// records into text and writes them out in batches, so console speed no longer limits
+// the station. If the writer falls a full ring behind, new events are dropped and
+// counted rather than blocking the station.
+class EventLog {
+    enum Mode {
+        OFF,   // log calls return immediately
+        ASYNC, // ring buffer + background writer
+        SYNC   // println on the calling thread (the original behaviour)
+    }
+
+    enum Type {
+        ARRIVES,
+        ENTERS,
+        TAKES,
+        BAY_ACQUIRED,
+        SERVICE_START,
+        SERVICE_FINISH,
+        BAY_RELEASED,
+        // Appended so journals written before them still replay
+        BALKS,
+        RENEGES,
+        LEAVES
+    }
+
+    private static final int CAPACITY = 1 << 16;
+    private static final int MASK = CAPACITY - 1;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private static final class Record {
+        Type type;
+        String car;
+        String pump;
+        int queueSize;
+    }
+
+    private final Mode mode;
+    private final PrintStream out;
+    private final Record[] records;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong(); // next position to claim
+    private volatile long head = 0;                   // next position the writer reads
+    private volatile long written = 0;                // positions before this are printed
+    private volatile boolean closed;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+
+    public EventLog(Mode mode, PrintStream out) {
+        this.mode = mode;
+        this.out = out;
+        if (mode == Mode.ASYNC) {
+            records = new Record[CAPACITY];
+            sequences = new AtomicLongArray(CAPACITY);
+            for (int i = 0; i < CAPACITY; i++) {
+                records[i] = new Record();
+                sequences.set(i, i);
+            }
+            writer = new Thread(this::writeLoop, "EventLog-writer");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            records = null;
+            sequences = null;
+            writer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return mode != Mode.OFF;
+    }
+
+    public void event(Type type, String car, String pump, int queueSize) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        if (mode == Mode.SYNC) {
+            out.println(format(new StringBuilder(), type, car, pump, queueSize));
+            return;
+        }
+
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & MASK);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    Record record = records[index];
+                    record.type = type;
+                    record.car = car;
+                    record.pump = pump;
+                    record.queueSize = queueSize;
+                    sequences.lazySet(index, pos + 1);
+                    return;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                dropped.incrementAndGet(); // writer is a full ring behind
+                return;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    // Blocks until everything logged so far has been written
+    public void flush() {
+        if (mode != Mode.ASYNC) {
+            out.flush();
+            return;
+        }
+        long target = tail.get();
+        while (written < target && writer.isAlive()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            out.println("(" + lost + " log events dropped, writer could not keep up)");
+        }
+        out.flush();
+    }
+
+    // Writes what is logged so far and stops the writer thread; events logged afterwards
+    // are not written. Called once the station's run is over.
+    public void close() {
+        flush();
+        if (mode == Mode.ASYNC && !closed) {
+            closed = true;
+            LockSupport.unpark(writer);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void writeLoop() {
+        StringBuilder batch = new StringBuilder(8192);
+        while (true) {
+            long pos = head;
+            int index = (int) (pos & MASK);
+            if (sequences.get(index) != pos + 1) {
+                if (batch.length() > 0) {
+                    out.print(batch);
+                    out.flush();
+                    batch.setLength(0);
+                    written = pos;
+                }
+                if (closed) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            Record record = records[index];
+            format(batch, record.type, record.car, record.pump, record.queueSize).append('\n');
+            record.car = null;
+            record.pump = null;
+            sequences.lazySet(index, pos + CAPACITY);
+            head = pos + 1;
+
+            if (batch.length() >= 8192) {
+                out.print(batch);
+                batch.setLength(0);
+                written = pos + 1;
+            }
+        }
+    }
+
+    static StringBuilder format(StringBuilder sb, Type type, String car, String pump, int queueSize) {
+        switch (type) {
+            case ARRIVES:
+                return sb.append(car).append(" ARRVES, checking queue space.");
+            case ENTERS:
+                return sb.append(car).append(" ENTERS the queue. Queue size: ").append(queueSize);
+            case TAKES:
+                return sb.append(pump).append(" takes ").append(car).append(". Queue size: ").append(queueSize);
+            case BAY_ACQUIRED:
+                return sb.append(pump).append(" ACQUIRES a service bay and STARTS service.");
+            case SERVICE_START:
+                return sb.append(pump).append(" STARTS servicing ").append(car);
+            case SERVICE_FINISH:
+                return sb.append(pump).append(" FINISHES servicing ").append(car);
+            case BALKS:
+                return sb.append(car).append(" BALKS at the queue and drives off. Queue size: ").append(queueSize);
+            case RENEGES:
+                return sb.append(car).append(" RENEGES, tired of waiting for a slot. Queue size: ").append(queueSize);
+            case LEAVES:
+                return sb.append(car).append(" LEAVES without service.");
+            case BAY_RELEASED:
+            default:
+                return sb.append(pump).append(" FINISHES service and RELEASES the bay.");
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Reads an EventJournal back: rebuilds the end-of-run statistics from the recorded
+// events and, with --events, prints them in the console log format with their times.
+// The journal keeps class numbers only; pass the run's -Dcws.classes to get their names.
+//
+//   java [-Dcws.classes=...] JournalReplay run.journal [--events]
+class JournalReplay {
+    private static final EventLog.Type[] TYPES = EventLog.Type.values();
+    private static final long PER_SEGMENT = EventJournal.SEGMENT_SIZE / EventJournal.RECORD_SIZE;
+
+    private final int pumps;
+    private final int shards;
+    private final SimulationStats stats;
+    // Grown as higher car ids show up
+    private final CarStore cars = new CarStore(1024);
+
+    JournalReplay(int pumps, int shards, String[] classNames) {
+        this.pumps = pumps;
+        this.shards = shards;
+        this.stats = new SimulationStats(pumps * shards, classNames);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java JournalReplay <journal file> [--events]");
+            return;
+        }
+        boolean printEvents = args.length > 1 && args[1].equals("--events");
+        replay(Path.of(args[0]), printEvents ? System.out : null).print("replay of " + args[0]);
+    }
+
+    static SimulationStats replay(Path path, PrintStream events) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(EventJournal.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < EventJournal.HEADER_SIZE || header.getInt() != EventJournal.MAGIC) {
+                throw new IOException(path + " is not an event journal");
+            }
+            short version = header.getShort();
+            short recordSize = header.getShort();
+            if (version != EventJournal.VERSION || recordSize != EventJournal.RECORD_SIZE) {
+                throw new IOException(path + ": unsupported journal version " + version);
+            }
+            long count = header.getLong();
+            int pumps = header.getInt();
+            int shards = header.getInt();
+            JournalReplay replay = new JournalReplay(pumps, shards, classNames(channel, count));
+
+            StringBuilder line = new StringBuilder(128);
+            for (long first = 0; first < count; first += PER_SEGMENT) {
+                ByteBuffer segment = map(channel, first, count);
+                for (int at = 0; at < segment.limit(); at += EventJournal.RECORD_SIZE) {
+                    long time = segment.getLong(at);
+                    int car = segment.getInt(at + 8);
+                    int pump = segment.getInt(at + 12);
+                    int queueSize = segment.getInt(at + 16);
+                    EventLog.Type type = TYPES[segment.get(at + 20)];
+                    int shard = segment.get(at + 21);
+                    int serviceClass = segment.get(at + 22);
+                    replay.apply(type, time, car, pump, queueSize, shard, serviceClass);
+                    if (events != null) {
+                        line.setLength(0);
+                        line.append(time).append(' ');
+                        EventLog.format(line, type, "Car-" + car, replay.pumpName(pump, shard), queueSize);
+                        events.println(line);
+                    }
+                }
+            }
+            return replay.stats;
+        }
+    }
+
+    // One name per class number seen on an ARRIVES record, taken from -Dcws.classes when the
+    // run's spec is passed in
+    private static String[] classNames(FileChannel channel, long count) throws IOException {
+        int highest = 0;
+        for (long first = 0; first < count; first += PER_SEGMENT) {
+            ByteBuffer segment = map(channel, first, count);
+            for (int at = 0; at < segment.limit(); at += EventJournal.RECORD_SIZE) {
+                if (TYPES[segment.get(at + 20)] == EventLog.Type.ARRIVES) {
+                    highest = Math.max(highest, segment.get(at + 22));
+                }
+            }
+        }
+        String spec = System.getProperty("cws.classes");
+        ServiceClass[] classes = spec == null ? new ServiceClass[0] : ServiceClass.parseAll(spec);
+        String[] names = new String[Math.max(highest + 1, classes.length)];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = i < classes.length ? classes[i].name : names.length == 1 ? "standard" : "class-" + i;
+        }
+        return names;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long first, long count) throws IOException {
+        long records = Math.min(PER_SEGMENT, count - first);
+        return channel.map(FileChannel.MapMode.READ_ONLY,
+                EventJournal.HEADER_SIZE + first * EventJournal.RECORD_SIZE,
+                records * EventJournal.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void apply(EventLog.Type type, long time, int car, int pump, int queueSize, int shard, int serviceClass) {
+        switch (type) {
+            case ARRIVES:
+                cars.ensureCapacity(car);
+                cars.arrive(car, serviceClass, time);
+                break;
+            case ENTERS:
+            case TAKES:
+                stats.recordQueueDepth(queueSize);
+                break;
+            case SERVICE_START:
+                cars.ensureCapacity(car);
+                cars.startService(car, time);
+                break;
+            case SERVICE_FINISH:
+                cars.finishService(car, time);
+                stats.recordService(shard * pumps + pump, cars, car);
+                break;
+            case BALKS:
+                stats.recordBalk();
+                break;
+            case RENEGES:
+                stats.recordRenege();
+                break;
+            case LEAVES:
+                stats.recordLost(0); // the journal does not know the revenue per car
+                break;
+            default:
+                break;
+        }
+    }
+
+    private String pumpName(int pump, int shard) {
+        String name = "Pump-" + (pump + 1);
+        return shards > 1 ? "S" + (shard + 1) + "-" + name : name;
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// Optional contention report for the station's Mutex and Semaphore gates (-Dcws.profileLocks).
+// Each named gate records how long acquirers waited, how many were already queued when
+// they arrived, how long the mutex was held and how often a release handed a permit
+// straight to a blocked thread. Semaphores also track how much of the run they had no
+// permit to give (for the mutex: how much of it was locked), which is the best single
+// hint of the gate that limits throughput.
+// With profiling off the gates get no Gate and pay one null check per call.
+class LockProfiler {
+    static final class Gate {
+        final String name;
+        final LongAdder acquires = new LongAdder();
+        final LongAdder contended = new LongAdder();
+        final LongAdder handoffs = new LongAdder();
+        final LatencyHistogram waitMicros = new LatencyHistogram();
+        final LatencyHistogram holdMicros = new LatencyHistogram();
+        final LatencyHistogram queueLength = new LatencyHistogram();
+        final LongAdder closedNanos = new LongAdder();
+        private volatile long closedSince = -1; // written under the owning gate's monitor
+
+        Gate(String name) {
+            this.name = name;
+        }
+
+        void uncontended() {
+            acquires.increment();
+            waitMicros.record(0);
+            queueLength.record(0);
+        }
+
+        // Called once the wait succeeds; waits cut short by an interrupt are not counted
+        void contended(long waitStart, int queued) {
+            acquires.increment();
+            contended.increment();
+            queueLength.record(queued);
+            waitMicros.record((System.nanoTime() - waitStart) / 1000);
+        }
+
+        void held(long acquiredAt) {
+            holdMicros.record((System.nanoTime() - acquiredAt) / 1000);
+        }
+
+        void handoff(int count) {
+            handoffs.add(count);
+        }
+
+        void closed() {
+            closedSince = System.nanoTime();
+        }
+
+        void opened() {
+            long since = closedSince;
+            if (since >= 0) {
+                closedNanos.add(System.nanoTime() - since);
+                closedSince = -1;
+            }
+        }
+
+        long closedNanos(long now) {
+            long since = closedSince;
+            return closedNanos.sum() + (since >= 0 ? now - since : 0);
+        }
+    }
+
+    private final List<Gate> gates = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+
+    // Null when profiling is off, so callers can pass the result straight to the gate
+    static Gate gate(LockProfiler profiler, String name) {
+        return profiler == null ? null : profiler.gate(name);
+    }
+
+    synchronized Gate gate(String name) {
+        Gate gate = new Gate(name);
+        gates.add(gate);
+        return gate;
+    }
+
+    synchronized void print(String label) {
+        long now = System.nanoTime();
+        double elapsed = Math.max(1, now - startNanos);
+        System.out.println("\n--- Lock Contention (" + label + ") ---");
+        System.out.printf("%-15s %10s %10s %24s %14s %16s %8s %10s%n", "Gate", "acquires", "contended",
+                "wait us p50/p99/max", "queue p99/max", "hold us p50/p99", "closed", "handoffs");
+        for (Gate gate : gates) {
+            long acquires = gate.acquires.sum();
+            String hold = gate.holdMicros.getCount() == 0 ? "-"
+                    : gate.holdMicros.getPercentile(50) + "/" + gate.holdMicros.getPercentile(99);
+            System.out.printf("%-15s %10d %9.1f%% %24s %14s %16s %7.1f%% %10d%n",
+                    gate.name,
+                    acquires,
+                    acquires == 0 ? 0.0 : 100.0 * gate.contended.sum() / acquires,
+                    gate.waitMicros.getPercentile(50) + "/" + gate.waitMicros.getPercentile(99)
+                            + "/" + gate.waitMicros.getMax(),
+                    gate.queueLength.getPercentile(99) + "/" + gate.queueLength.getMax(),
+                    hold,
+                    100.0 * gate.closedNanos(now) / elapsed,
+                    gate.handoffs.sum());
+        }
+        System.out.println("-----------------------------------");
+    }
+}
@@ -0,0 +1,33 @@
+import java.util.SplittableRandom;
+
+class LognormalDistribution implements Distribution {
+    private final double mu;
+    private final double sigma;
+
+    LognormalDistribution(double mean, double stddev) {
+        if (mean <= 0 || stddev < 0) {
+            throw new IllegalArgumentException("Lognormal needs a positive mean and non-negative stddev");
+        }
+        double variance = Math.log(1 + (stddev * stddev) / (mean * mean));
+        this.sigma = Math.sqrt(variance);
+        this.mu = Math.log(mean) - variance / 2;
+    }
+
+    @Override
+    public long sample(SplittableRandom random) {
+        return Math.round(Math.exp(mu + sigma * gaussian(random)));
+    }
+
+    // Marsaglia polar method; SplittableRandom has no nextGaussian on Java 17
+    private static double gaussian(SplittableRandom random) {
+        double u;
+        double v;
+        double s;
+        do {
+            u = random.nextDouble() * 2 - 1;
+            v = random.nextDouble() * 2 - 1;
+            s = u * u + v * v;
+        } while (s >= 1 || s == 0);
+        return u * Math.sqrt(-2 * Math.log(s) / s);
+    }
+}
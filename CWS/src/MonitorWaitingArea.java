@@ -0,0 +1,120 @@
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Baseline waiting area: every handoff goes through carMutex plus the two slot semaphores.
+class MonitorWaitingArea implements WaitingArea {
+    private final List<Car> carQueue;
+    private final Mutex carMutex;
+    private final Semaphore emptySlots;
+    private final Semaphore fullSlots;
+    private final int capacity;
+
+    public MonitorWaitingArea(int capacity) {
+        this(capacity, null);
+    }
+
+    public MonitorWaitingArea(int capacity, LockProfiler profiler) {
+        this.capacity = capacity;
+        this.carQueue = new LinkedList<>();
+        this.carMutex = new Mutex(LockProfiler.gate(profiler, "carMutex"));
+        this.emptySlots = new Semaphore(capacity, LockProfiler.gate(profiler, "emptySlots"));
+        this.fullSlots = new Semaphore(0, LockProfiler.gate(profiler, "fullSlots"));
+    }
+
+    @Override
+    public void put(Car car) throws InterruptedException {
+        emptySlots.acquire();
+
+        carMutex.acquire();
+        carQueue.add(car);
+        carMutex.release();
+
+        fullSlots.release();
+    }
+
+    @Override
+    public boolean offer(Car car, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!emptySlots.tryAcquire(timeout, unit)) {
+            return false;
+        }
+
+        carMutex.acquire();
+        carQueue.add(car);
+        carMutex.release();
+
+        fullSlots.release();
+        return true;
+    }
+
+    @Override
+    public Car take() throws InterruptedException {
+        fullSlots.acquire();
+
+        carMutex.acquire();
+        Car car = carQueue.remove(0);
+        carMutex.release();
+
+        emptySlots.release();
+        return car;
+    }
+
+    @Override
+    public int takeBatch(Car[] buffer, int max) throws InterruptedException {
+        fullSlots.acquire();
+        int count = 1 + fullSlots.tryAcquireUpTo(max - 1);
+        removeInto(buffer, 0, count);
+        return count;
+    }
+
+    @Override
+    public int pollBatch(Car[] buffer, int offset, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        if (max <= 0 || !fullSlots.tryAcquire(timeout, unit)) {
+            return 0;
+        }
+        int count = 1 + fullSlots.tryAcquireUpTo(max - 1);
+        removeInto(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int drainTo(Car[] buffer, int offset, int max) {
+        int count = fullSlots.tryAcquireUpTo(max);
+        if (count > 0) {
+            removeInto(buffer, offset, count);
+        }
+        return count;
+    }
+
+    // The caller already holds count fullSlots permits, so the cars are there
+    private void removeInto(Car[] buffer, int offset, int count) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                carMutex.acquire();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true; // the permits are ours, finish the removal first
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = carQueue.remove(0);
+        }
+        carMutex.release();
+
+        emptySlots.release(count);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public int size() {
+        return carQueue.size();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,111 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Several independent stations (shards) run as one site. Each shard has its own waiting
+// area, bays and stats, so pumps only contend with the other pumps of their shard.
+// Arrivals are spread by a RoutingPolicy; with work stealing an idle pump first drains
+// its own waiting area and then its neighbours' before it parks on its own again.
+class MultiStation {
+    // How long an idle stealing pump waits on its own shard before it looks at the others again
+    private static final long STEAL_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final StationConfig config;
+    private final ServiceStation[] shards;
+    private final RoutingPolicy routing;
+    private final LongAdder carsStolen = new LongAdder();
+    private final EventJournal journal;
+    // One writer thread and ring for the whole site, so shards don't interleave on stdout
+    private final EventLog log;
+
+    public MultiStation(StationConfig config) {
+        if (config.shards < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.config = config;
+        // Shard seeds and the routing stream all derive from the one master seed
+        SplittableRandom seeds = new SplittableRandom(config.seed);
+        this.journal = config.journal == null
+                ? EventJournal.DISABLED : new EventJournal(config.journal, config.numPumps, config.shards);
+        this.log = new EventLog(config.logMode, System.out);
+        this.shards = new ServiceStation[config.shards];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new ServiceStation(config, seeds.nextLong(), i, journal, log);
+        }
+        this.routing = RoutingPolicy.create(config.routing, seeds.split());
+        if (config.verbose) {
+            System.out.println("Shards: " + shards.length + " (routing: " + config.routing
+                    + ", work stealing: " + (config.workStealing ? "on" : "off") + ")\n");
+        }
+    }
+
+    // Refills a pump's buffer from its own shard, stealing from the others when enabled
+    int takeCars(int shard, int pump, Car[] buffer) throws InterruptedException {
+        if (!config.workStealing) {
+            return shards[shard].takeCars(pump, buffer, buffer.length, config.batchLingerMs);
+        }
+        // The first look at our own shard doesn't wait; after that the pump parks in its own
+        // waiting area, where an arrival wakes it at once, between rounds of stealing
+        long wait = 0;
+        while (true) {
+            int count = shards[shard].pollCars(pump, buffer, buffer.length, wait, config.batchLingerMs);
+            if (count > 0) {
+                return count;
+            }
+            for (int i = 1; i < shards.length; i++) {
+                count = shards[(shard + i) % shards.length].pollCars(pump, shard, buffer, buffer.length);
+                if (count > 0) {
+                    carsStolen.add(count);
+                    return count;
+                }
+            }
+            wait = STEAL_CHECK_NANOS;
+        }
+    }
+
+    // Same lifecycle as ServiceStation.start: the handle completes with the combined stats
+    public SimulationHandle start(int totalCars) {
+        if (config.engine != SimulationEngine.Kind.THREADED && config.verbose) {
+            System.out.println("Sharded runs use the threaded engine.");
+        }
+        SimulationHandle handle = new SimulationHandle(totalCars);
+        for (ServiceStation shard : shards) {
+            shard.getStats().registerMBean();
+        }
+        handle.onStop(() -> {
+            shards[0].closeArrivals();
+            journal.close();
+            for (ServiceStation shard : shards) {
+                shard.getStats().unregisterMBean();
+            }
+            log.close();
+        });
+        ThreadedEngine.start(shards, routing, this, totalCars, handle);
+        return handle;
+    }
+
+    long getCarsStolen() {
+        return carsStolen.sum();
+    }
+
+    public SimulationStats runSimulation(int totalCars) {
+        long wallStart = System.currentTimeMillis();
+        SimulationStats combined = start(totalCars).completion().join();
+
+        System.out.println("\nAll cars processed; simulation ends.");
+        for (int s = 0; s < shards.length; s++) {
+            SimulationStats part = shards[s].getStats();
+            System.out.printf("Shard-%d: %d cars, wait p99 %d ms%n", s + 1, part.getCarsServed(), part.getWaitP99());
+        }
+        System.out.println("Cars stolen by other shards: " + getCarsStolen());
+        combined.print("threaded, " + shards.length + " shards");
+        System.out.println("Wall-clock time: " + (System.currentTimeMillis() - wallStart) + " ms");
+        if (journal.isEnabled()) {
+            System.out.println("Event journal: " + journal.close() + " events in " + config.journal);
+        }
+        for (int s = 0; s < shards.length; s++) {
+            shards[s].printContention("Shard-" + (s + 1));
+        }
+        return combined;
+    }
+}
@@ -0,0 +1,50 @@
+class Mutex {
+    private boolean locked = false;
+    private int waiters;
+    private long lockedAt;
+    private final LockProfiler.Gate gate; // null unless profiling
+
+    public Mutex() {
+        this(null);
+    }
+
+    public Mutex(LockProfiler.Gate gate) {
+        this.gate = gate;
+    }
+
+    public synchronized void acquire() throws InterruptedException {
+        if (locked) {
+            long waitStart = gate != null ? System.nanoTime() : 0;
+            int queued = waiters++;
+            try {
+                while (locked) {
+                    wait();
+                }
+            } finally {
+                waiters--;
+            }
+            if (gate != null) {
+                gate.contended(waitStart, queued);
+            }
+        } else if (gate != null) {
+            gate.uncontended();
+        }
+        locked = true;
+        if (gate != null) {
+            gate.closed();
+            lockedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized void release() {
+        if (gate != null) {
+            gate.held(lockedAt);
+            gate.opened();
+            if (waiters > 0) {
+                gate.handoff(1);
+            }
+        }
+        locked = false;
+        notify();
+    }
+}
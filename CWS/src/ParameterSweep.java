@@ -0,0 +1,233 @@
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Headless capacity planning: runs every combination of the given waiting-area sizes,
+// bay counts, arrival rates and car counts in parallel on a fork/join pool and streams
+// one CSV or JSON line per configuration as soon as it finishes.
+//
+//   java ParameterSweep --slots 1..10 --pumps 1..8 --rate 10..60:10 --cars 10000
+//                       [--format csv|json] [--out FILE] [--seed N] [--parallelism N]
+//
+// A range is FROM..TO, FROM..TO:STEP or a comma list of positive numbers. Rates are cars
+// per minute with Poisson arrivals, so -Dcws.trace is rejected. Service times and the
+// other -Dcws.* switches apply as for ServiceStation; the engine defaults to
+// discrete_event so each run takes milliseconds.
+// With -Dcws.shards=N each configuration is a MultiStation of N such shards, which only
+// runs on the threaded engine and so in real time.
+// Every configuration uses the same seed, so they all see the same random draws and
+// differences between rows come from the parameters rather than the noise.
+class ParameterSweep {
+    private final List<StationConfig> configs = new ArrayList<>();
+    private final List<Integer> carCounts = new ArrayList<>();
+    private final List<Double> rates = new ArrayList<>();
+    private final boolean json;
+    private final PrintStream out;
+
+    ParameterSweep(boolean json, PrintStream out) {
+        this.json = json;
+        this.out = out;
+    }
+
+    void add(StationConfig config, double ratePerMinute, int cars) {
+        configs.add(config);
+        rates.add(ratePerMinute);
+        carCounts.add(cars);
+    }
+
+    void run(int parallelism) {
+        if (!json) {
+            out.println("slots,pumps,rate_per_min,cars,served,throughput_per_min,"
+                    + "wait_mean_ms,wait_p50_ms,wait_p95_ms,wait_p99_ms,wait_max_ms,queue_p99,utilization,lost");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SweepTask(0, configs.size()));
+        } finally {
+            pool.shutdown();
+        }
+        out.flush();
+    }
+
+    // Splits the configuration range in halves until single runs are left
+    private class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        SweepTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                runOne(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SweepTask(from, mid), new SweepTask(mid, to));
+        }
+    }
+
+    private void runOne(int index) {
+        StationConfig config = configs.get(index);
+        SimulationStats stats;
+        if (config.shards > 1) {
+            stats = new MultiStation(config).start(carCounts.get(index)).completion().join();
+        } else {
+            ServiceStation station = new ServiceStation(config);
+            stats = SimulationEngine.create(config.engine).run(station, carCounts.get(index));
+        }
+        String row = format(config, rates.get(index), carCounts.get(index), stats);
+        synchronized (out) {
+            out.println(row);
+        }
+    }
+
+    private String format(StationConfig config, double rate, int cars, SimulationStats stats) {
+        // Averaged over every pump of every shard
+        double[] pumps = stats.getPumpUtilization();
+        double utilization = 0;
+        for (double pump : pumps) {
+            utilization += pump / pumps.length;
+        }
+        String pattern = json
+                ? "{\"slots\":%d,\"pumps\":%d,\"rate_per_min\":%s,\"cars\":%d,\"served\":%d,"
+                        + "\"throughput_per_min\":%.3f,\"wait_mean_ms\":%.1f,\"wait_p50_ms\":%d,\"wait_p95_ms\":%d,"
+                        + "\"wait_p99_ms\":%d,\"wait_max_ms\":%d,\"queue_p99\":%d,\"utilization\":%.4f,\"lost\":%d}"
+                : "%d,%d,%s,%d,%d,%.3f,%.1f,%d,%d,%d,%d,%d,%.4f,%d";
+        return String.format(Locale.ROOT, pattern, config.slotSize, config.numPumps, formatNumber(rate), cars,
+                stats.getCarsServed(), stats.getThroughputPerMinute(), stats.getAverageWait(),
+                stats.getWaitP50(), stats.getWaitP95(), stats.getWaitP99(), stats.getWaitMax(),
+                stats.getQueueDepthP99(), utilization, stats.getCarsLost());
+    }
+
+    private static String formatNumber(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    // FROM..TO, FROM..TO:STEP or A,B,C. Every axis is a count or a rate, so values must be
+    // positive; a rate of 0 would mean an infinite gap between arrivals.
+    static List<Double> parseRange(String spec) {
+        List<Double> values = new ArrayList<>();
+        try {
+            int dots = spec.indexOf("..");
+            if (dots < 0) {
+                for (String value : spec.split(",")) {
+                    double parsed = Double.parseDouble(value.trim());
+                    if (!(parsed > 0) || Double.isInfinite(parsed)) {
+                        throw new IllegalArgumentException("Bad range: " + spec + " (values must be positive)");
+                    }
+                    values.add(parsed);
+                }
+                return values;
+            }
+            String[] bounds = spec.substring(dots + 2).split(":");
+            double from = Double.parseDouble(spec.substring(0, dots).trim());
+            double to = Double.parseDouble(bounds[0].trim());
+            double step = bounds.length > 1 ? Double.parseDouble(bounds[1].trim()) : 1;
+            if (step <= 0 || to < from) {
+                throw new IllegalArgumentException("Bad range: " + spec);
+            }
+            if (!(from > 0) || Double.isInfinite(to)) {
+                throw new IllegalArgumentException("Bad range: " + spec + " (values must be positive)");
+            }
+            // Counting steps instead of adding them up keeps 0.1-style steps from drifting
+            for (long i = 0; from + i * step <= to + step * 1e-9; i++) {
+                values.add(from + i * step);
+            }
+            return values;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad range: " + spec, e);
+        }
+    }
+
+    // Slots, pumps and cars are counts, so a range that yields a fraction is rejected
+    static List<Integer> parseCounts(String option, String spec) {
+        List<Integer> counts = new ArrayList<>();
+        for (double value : parseRange(spec)) {
+            if (value != Math.rint(value) || value < 1 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(option + " takes whole numbers of at least 1, got "
+                        + formatNumber(value) + " from " + spec);
+            }
+            counts.add((int) value);
+        }
+        return counts;
+    }
+
+    public static void main(String[] args) throws FileNotFoundException {
+        String slots = "1..10";
+        String pumps = "1..4";
+        String rate = "60";
+        String cars = "10000";
+        String format = "csv";
+        String outFile = null;
+        Long seed = null;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--slots": slots = value; break;
+                case "--pumps": pumps = value; break;
+                case "--rate": rate = value; break;
+                case "--cars": cars = value; break;
+                case "--format": format = value; break;
+                case "--out": outFile = value; break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--parallelism": parallelism = Integer.parseInt(value); break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Missing value for " + args[args.length - 1]);
+        }
+
+        List<Integer> slotCounts = parseCounts("--slots", slots);
+        List<Integer> pumpCounts = parseCounts("--pumps", pumps);
+        List<Double> rates = parseRange(rate);
+        List<Integer> carCounts = parseCounts("--cars", cars);
+        if (System.getProperty("cws.trace") != null) {
+            throw new IllegalArgumentException("-Dcws.trace replaces the arrival rate, so it cannot be swept over --rate");
+        }
+        if (Integer.getInteger("cws.shards", 1) > 1) {
+            System.out.println("Sharded configurations run on the threaded engine, in real time.");
+        }
+
+        PrintStream out = outFile == null ? System.out : new PrintStream(new FileOutputStream(outFile), false);
+        ParameterSweep sweep = new ParameterSweep(format.equalsIgnoreCase("json"), out);
+        long masterSeed = seed != null ? seed : Long.getLong("cws.seed", System.nanoTime());
+        for (int slotCount : slotCounts) {
+            for (int pumpCount : pumpCounts) {
+                for (double ratePerMinute : rates) {
+                    for (int carCount : carCounts) {
+                        StationConfig config = StationConfig.fromSystemProperties(slotCount, pumpCount);
+                        if (System.getProperty("cws.engine") == null) {
+                            config.engine = SimulationEngine.Kind.DISCRETE_EVENT;
+                        }
+                        config.logMode = EventLog.Mode.OFF;
+                        config.verbose = false;
+                        config.journal = null;
+                        config.seed = masterSeed;
+                        config.arrivalGaps = new ErlangDistribution(1, 60000.0 / ratePerMinute);
+                        sweep.add(config, ratePerMinute, carCount);
+                    }
+                }
+            }
+        }
+        sweep.run(parallelism);
+        if (outFile != null) {
+            out.close();
+            System.out.println(sweep.configs.size() + " configurations written to " + outFile);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+import java.util.concurrent.TimeUnit;
+
+// Mutex on top of a single-permit ParkingSemaphore, with the same acquire/release
+// contract as Mutex plus timed and non-blocking variants.
+class ParkingMutex {
+    private final ParkingSemaphore lock;
+
+    public ParkingMutex() {
+        this(false);
+    }
+
+    public ParkingMutex(boolean fair) {
+        this.lock = new ParkingSemaphore(1, fair);
+    }
+
+    public void acquire() throws InterruptedException {
+        lock.acquire();
+    }
+
+    public void acquireUninterruptibly() {
+        lock.acquireUninterruptibly();
+    }
+
+    public boolean tryAcquire() {
+        return lock.tryAcquire();
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return lock.tryAcquire(timeout, unit);
+    }
+
+    public void release() {
+        lock.release();
+    }
+
+    public int getQueueLength() {
+        return lock.getQueueLength();
+    }
+}
@@ -0,0 +1,181 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Counting semaphore that parks waiters in a FIFO queue instead of using wait/notify.
+//
+// acquire spins briefly on the permit counter first; the spin budget adapts, doubling
+// when spinning pays off and halving when it does not. Threads that still get nothing
+// join the queue and park. Only the head of the queue competes for a released permit,
+// and release wakes exactly that thread, so there is no thundering herd.
+//
+// Fair mode: newcomers never overtake queued threads, so waiters are served in arrival order.
+// Unfair mode: newcomers may grab a free permit ahead of the queue, which avoids waiting
+// for a parked thread to wake up and gives higher throughput.
+class ParkingSemaphore {
+    private static final int MAX_SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 256 : 0;
+    private static final int MIN_SPINS = MAX_SPINS == 0 ? 0 : 4;
+
+    private final AtomicInteger permits;
+    private final boolean fair;
+    private final ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+    private volatile int spinLimit = MIN_SPINS;
+
+    public ParkingSemaphore(int initialPermits) {
+        this(initialPermits, false);
+    }
+
+    public ParkingSemaphore(int initialPermits, boolean fair) {
+        if (initialPermits < 0) {
+            throw new IllegalArgumentException("Permits cannot be negative");
+        }
+        this.permits = new AtomicInteger(initialPermits);
+        this.fair = fair;
+    }
+
+    public void acquire() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (tryAcquire() || spinAcquire()) {
+            return;
+        }
+        awaitPermit(true, false, 0L);
+    }
+
+    public void acquireUninterruptibly() {
+        if (tryAcquire() || spinAcquire()) {
+            return;
+        }
+        try {
+            awaitPermit(false, false, 0L);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e); // not thrown when uninterruptible
+        }
+    }
+
+    // Takes a permit only if one is free right now (and, in fair mode, nobody is queued)
+    public boolean tryAcquire() {
+        return (!fair || waiters.isEmpty()) && takePermit();
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (tryAcquire() || spinAcquire()) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        return nanos > 0 && awaitPermit(true, true, System.nanoTime() + nanos);
+    }
+
+    // Takes as many free permits as possible, up to max, without blocking
+    public int tryAcquireUpTo(int max) {
+        if (max <= 0 || (fair && !waiters.isEmpty())) {
+            return 0;
+        }
+        while (true) {
+            int available = permits.get();
+            int taken = Math.min(available, max);
+            if (taken == 0 || permits.compareAndSet(available, available - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    public void release() {
+        permits.incrementAndGet();
+        wakeHead();
+    }
+
+    // The woken head passes the wakeup along while permits remain
+    public void release(int count) {
+        permits.addAndGet(count);
+        wakeHead();
+    }
+
+    public int availablePermits() {
+        return permits.get();
+    }
+
+    public int getQueueLength() {
+        return waiters.size();
+    }
+
+    public boolean isFair() {
+        return fair;
+    }
+
+    private boolean takePermit() {
+        while (true) {
+            int available = permits.get();
+            if (available == 0) {
+                return false;
+            }
+            if (permits.compareAndSet(available, available - 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean spinAcquire() {
+        int limit = spinLimit;
+        for (int i = 0; i < limit; i++) {
+            Thread.onSpinWait();
+            if (tryAcquire()) {
+                spinLimit = Math.min(MAX_SPINS, limit * 2);
+                return true;
+            }
+        }
+        spinLimit = Math.max(MIN_SPINS, limit / 2);
+        return false;
+    }
+
+    private boolean awaitPermit(boolean interruptible, boolean timed, long deadline) throws InterruptedException {
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                // Re-checked after enqueueing so a release that saw an empty queue is not missed
+                if ((!fair || waiters.peek() == current) && takePermit()) {
+                    return true;
+                }
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    if (interruptible) {
+                        throw new InterruptedException();
+                    }
+                    interrupted = true;
+                }
+            }
+        } finally {
+            waiters.remove(current);
+            // We may have been the head that a release just woke; pass the wakeup on if a
+            // permit is still free
+            if (permits.get() > 0) {
+                wakeHead();
+            }
+            if (interrupted) {
+                current.interrupt();
+            }
+        }
+    }
+
+    private void wakeHead() {
+        Thread head = waiters.peek();
+        if (head != null) {
+            LockSupport.unpark(head);
+        }
+    }
+}
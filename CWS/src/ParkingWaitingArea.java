@@ -0,0 +1,106 @@
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Same structure as MonitorWaitingArea, built on the parking synchronizers. With fair
+// set, cars get waiting slots strictly in arrival order instead of whichever thread
+// notify() happens to pick.
+class ParkingWaitingArea implements WaitingArea {
+    private final List<Car> carQueue;
+    private final ParkingMutex carMutex;
+    private final ParkingSemaphore emptySlots;
+    private final ParkingSemaphore fullSlots;
+    private final int capacity;
+
+    public ParkingWaitingArea(int capacity, boolean fair) {
+        this.capacity = capacity;
+        this.carQueue = new LinkedList<>();
+        this.carMutex = new ParkingMutex(fair);
+        this.emptySlots = new ParkingSemaphore(capacity, fair);
+        this.fullSlots = new ParkingSemaphore(0, fair);
+    }
+
+    @Override
+    public void put(Car car) throws InterruptedException {
+        emptySlots.acquire();
+
+        carMutex.acquireUninterruptibly();
+        carQueue.add(car);
+        carMutex.release();
+
+        fullSlots.release();
+    }
+
+    @Override
+    public boolean offer(Car car, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!emptySlots.tryAcquire(timeout, unit)) {
+            return false;
+        }
+
+        carMutex.acquireUninterruptibly();
+        carQueue.add(car);
+        carMutex.release();
+
+        fullSlots.release();
+        return true;
+    }
+
+    @Override
+    public Car take() throws InterruptedException {
+        fullSlots.acquire();
+
+        carMutex.acquireUninterruptibly();
+        Car car = carQueue.remove(0);
+        carMutex.release();
+
+        emptySlots.release();
+        return car;
+    }
+
+    @Override
+    public int takeBatch(Car[] buffer, int max) throws InterruptedException {
+        fullSlots.acquire();
+        int count = 1 + fullSlots.tryAcquireUpTo(max - 1);
+        removeInto(buffer, 0, count);
+        return count;
+    }
+
+    @Override
+    public int pollBatch(Car[] buffer, int offset, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        if (max <= 0 || !fullSlots.tryAcquire(timeout, unit)) {
+            return 0;
+        }
+        int count = 1 + fullSlots.tryAcquireUpTo(max - 1);
+        removeInto(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int drainTo(Car[] buffer, int offset, int max) {
+        int count = fullSlots.tryAcquireUpTo(max);
+        if (count > 0) {
+            removeInto(buffer, offset, count);
+        }
+        return count;
+    }
+
+    private void removeInto(Car[] buffer, int offset, int count) {
+        carMutex.acquireUninterruptibly();
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = carQueue.remove(0);
+        }
+        carMutex.release();
+
+        emptySlots.release(count);
+    }
+
+    @Override
+    public int size() {
+        return capacity - emptySlots.availablePermits();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.concurrent.TimeUnit;
+
+// Bounded waiting area that hands out the highest-priority car first, using a binary heap
+// under the parking synchronizers (O(log n) put and take).
+//
+// Aging keeps low tiers from starving: every agingMs a car has waited counts as one
+// priority level. Because all waiting cars age at the same rate, ordering by
+// (time entered - priority * agingMs) is the same at every instant, so the heap never
+// has to be rebuilt as time passes. Equal keys leave in arrival order.
+class PriorityWaitingArea implements WaitingArea {
+    private final Car[] heap;
+    private final long[] keys;
+    private final long[] seqs;
+    private int size = 0;
+    private long nextSeq = 0;
+
+    private final int[] priorities;
+    private final long agingMs;
+    private final ParkingMutex carMutex;
+    private final ParkingSemaphore emptySlots;
+    private final ParkingSemaphore fullSlots;
+    private final int capacity;
+
+    public PriorityWaitingArea(int capacity, boolean fair, ServiceClass[] classes, long agingMs) {
+        this.capacity = capacity;
+        this.heap = new Car[capacity];
+        this.keys = new long[capacity];
+        this.seqs = new long[capacity];
+        this.priorities = new int[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            priorities[i] = classes[i].priority;
+        }
+        this.agingMs = agingMs;
+        this.carMutex = new ParkingMutex(fair);
+        this.emptySlots = new ParkingSemaphore(capacity, fair);
+        this.fullSlots = new ParkingSemaphore(0, fair);
+    }
+
+    @Override
+    public void put(Car car) throws InterruptedException {
+        emptySlots.acquire();
+        insert(car);
+    }
+
+    @Override
+    public boolean offer(Car car, long timeout, TimeUnit unit) throws InterruptedException {
+        if (!emptySlots.tryAcquire(timeout, unit)) {
+            return false;
+        }
+        insert(car);
+        return true;
+    }
+
+    // The caller holds an emptySlots permit
+    private void insert(Car car) {
+        long key = System.currentTimeMillis() - priorities[car.getServiceClass()] * agingMs;
+        carMutex.acquireUninterruptibly();
+        push(car, key);
+        carMutex.release();
+
+        fullSlots.release();
+    }
+
+    @Override
+    public Car take() throws InterruptedException {
+        fullSlots.acquire();
+
+        carMutex.acquireUninterruptibly();
+        Car car = pop();
+        carMutex.release();
+
+        emptySlots.release();
+        return car;
+    }
+
+    @Override
+    public int takeBatch(Car[] buffer, int max) throws InterruptedException {
+        fullSlots.acquire();
+        int count = 1 + fullSlots.tryAcquireUpTo(max - 1);
+        removeInto(buffer, 0, count);
+        return count;
+    }
+
+    @Override
+    public int pollBatch(Car[] buffer, int offset, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        if (max <= 0 || !fullSlots.tryAcquire(timeout, unit)) {
+            return 0;
+        }
+        int count = 1 + fullSlots.tryAcquireUpTo(max - 1);
+        removeInto(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public int drainTo(Car[] buffer, int offset, int max) {
+        int count = fullSlots.tryAcquireUpTo(max);
+        if (count > 0) {
+            removeInto(buffer, offset, count);
+        }
+        return count;
+    }
+
+    private void removeInto(Car[] buffer, int offset, int count) {
+        carMutex.acquireUninterruptibly();
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = pop();
+        }
+        carMutex.release();
+
+        emptySlots.release(count);
+    }
+
+    private void push(Car car, long key) {
+        int i = size++;
+        long seq = nextSeq++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(key, seq, keys[parent], seqs[parent])) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        set(i, car, key, seq);
+    }
+
+    private Car pop() {
+        Car top = heap[0];
+        int last = --size;
+        Car car = heap[last];
+        long key = keys[last];
+        long seq = seqs[last];
+        heap[last] = null;
+        if (last > 0) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last && before(keys[child + 1], seqs[child + 1], keys[child], seqs[child])) {
+                    child++;
+                }
+                if (!before(keys[child], seqs[child], key, seq)) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+            }
+            set(i, car, key, seq);
+        }
+        return top;
+    }
+
+    private static boolean before(long key, long seq, long otherKey, long otherSeq) {
+        return key < otherKey || (key == otherKey && seq < otherSeq);
+    }
+
+    private void move(int from, int to) {
+        set(to, heap[from], keys[from], seqs[from]);
+    }
+
+    private void set(int i, Car car, long key, long seq) {
+        heap[i] = car;
+        keys[i] = key;
+        seqs[i] = seq;
+    }
+
+    @Override
+    public int size() {
+        return capacity - emptySlots.availablePermits();
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+}
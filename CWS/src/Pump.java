@@ -0,0 +1,82 @@
+class Pump implements Runnable {
+    private final String name;
+    private final int index;
+    private final ServiceStation station;
+    private final SimulationHandle handle;
+    // Set when this pump belongs to a shard of a MultiStation
+    private final MultiStation site;
+    private final int shard;
+
+    public Pump(String name, int index, ServiceStation station, SimulationHandle handle, MultiStation site, int shard) 
+    {
+        this.name = name;
+        this.index = index;
+        this.station = station;
+        this.handle = handle;
+        this.site = site;
+        this.shard = shard;
+    }
+
+    @Override
+    public void run() 
+    {
+        Thread.currentThread().setName(name);
+        int batchSize = station.getConfig().batchSize;
+        long lingerMs = station.getConfig().batchLingerMs;
+        // Cars already taken out of the waiting area but not yet serviced by this pump
+        Car[] batch = new Car[batchSize];
+        int batchCount = 0;
+        int next = 0;
+        try 
+        {
+            while (true) 
+            {
+                Car car;
+                if (batchSize == 1 && site == null) 
+                {
+                    car = station.takeCar(index);
+                } 
+                else 
+                {
+                    if (next == batchCount) 
+                    {
+                        batchCount = site == null
+                                ? station.takeCars(index, batch, batchSize, lingerMs)
+                                : site.takeCars(shard, index, batch);
+                        next = 0;
+                    }
+                    car = batch[next];
+                    batch[next++] = null;
+                }
+                station.startService(index);
+                long serviceStart = System.currentTimeMillis();
+
+                EventJournal journal = station.getJournal();
+                CarStore cars = station.getCars();
+                cars.startService(car.getId(), serviceStart);
+                EventLog log = station.getLog();
+                if (log.isEnabled()) 
+                {
+                    log.event(EventLog.Type.SERVICE_START, car.getName(), name, -1);
+                }
+                journal.record(EventLog.Type.SERVICE_START, serviceStart, car.getId(), index, -1, station.getShard());
+                Thread.sleep(station.nextServiceTime(index, car.getServiceClass()));
+                long serviceFinish = System.currentTimeMillis();
+                cars.finishService(car.getId(), serviceFinish);
+                if (log.isEnabled()) 
+                {
+                    log.event(EventLog.Type.SERVICE_FINISH, car.getName(), name, -1);
+                }
+                journal.record(EventLog.Type.SERVICE_FINISH, serviceFinish, car.getId(), index, -1, station.getShard());
+
+                station.finishService(index);
+                station.getStats().recordService(index, cars, car.getId());
+                handle.carServed();
+            }
+        } 
+        catch (InterruptedException e) 
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+import java.util.SplittableRandom;
+
+// Seeded random numbers for one station. The arrival generator and every pump get their
+// own SplittableRandom split off the master seed in a fixed order, so no two threads ever
+// touch the same generator and the same seed hands out the same draws every run. Under
+// the threaded engine those draws still land on whichever car a pump happens to take.
+class RandomStreams {
+    private final long seed;
+    private final SplittableRandom arrivals;
+    private final SplittableRandom[] pumps;
+
+    public RandomStreams(long seed, int numPumps) {
+        this.seed = seed;
+        SplittableRandom master = new SplittableRandom(seed);
+        this.arrivals = master.split();
+        this.pumps = new SplittableRandom[numPumps];
+        for (int i = 0; i < numPumps; i++) {
+            pumps[i] = master.split();
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Only the thread generating arrivals may use this one
+    public SplittableRandom arrivals() {
+        return arrivals;
+    }
+
+    // Only pump index's own thread may use this one
+    public SplittableRandom pump(int index) {
+        return pumps[index];
+    }
+
+    // A fresh stream for one attempt of one car to enter the station, so a car's patience
+    // and retry delay are the same whichever engine runs it and whenever its thread gets
+    // to draw them. Derived from the seed alone; the shared streams are not touched.
+    public SplittableRandom car(int id, int attempt) {
+        return new SplittableRandom(seed ^ (id * 0x9E3779B97F4A7C15L) ^ ((long) attempt << 48));
+    }
+}
@@ -0,0 +1,243 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Bounded multi-producer/multi-consumer ring buffer. Each slot carries a sequence number:
+// a producer may fill slot (pos % capacity) when its sequence equals 2 * pos, a consumer
+// may empty it when the sequence equals 2 * pos + 1. Doubling keeps "published for pos"
+// apart from "free for pos + capacity" even when the capacity is 1. Claiming a position is a single CAS on
+// tail/head, so the handoff itself never takes a lock or allocates.
+//
+// Threads only block when the buffer is full (producers) or empty (consumers). They spin
+// briefly, then register in a waiter queue and park until the other side signals.
+class RingBufferWaitingArea implements WaitingArea {
+    // Spinning only pays off when the other side can run at the same time
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 64 : 0;
+
+    private final Car[] slots;
+    private final AtomicLongArray sequences;
+    private final int capacity;
+
+    private final AtomicLong head = new AtomicLong(); // next position to take
+    private final AtomicLong tail = new AtomicLong(); // next position to put
+
+    private final ConcurrentLinkedQueue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Thread> waitingConsumers = new ConcurrentLinkedQueue<>();
+
+    public RingBufferWaitingArea(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.slots = new Car[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, 2L * i);
+        }
+    }
+
+    public boolean offer(Car car) {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos % capacity);
+            long diff = sequences.get(index) - 2 * pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots[index] = car;
+                    sequences.lazySet(index, 2 * pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // full: the slot still holds a car from the previous lap
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    public Car poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos % capacity);
+            long diff = sequences.get(index) - (2 * pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    Car car = slots[index];
+                    slots[index] = null;
+                    sequences.lazySet(index, 2 * (pos + capacity));
+                    return car;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null; // empty: the producer for this position has not published yet
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    @Override
+    public void put(Car car) throws InterruptedException {
+        put(car, false, 0L);
+    }
+
+    @Override
+    public boolean offer(Car car, long timeout, TimeUnit unit) throws InterruptedException {
+        return put(car, true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    private boolean put(Car car, boolean timed, long deadline) throws InterruptedException {
+        for (int spins = 0; !offer(car); spins++) {
+            if (spins < SPINS) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Thread current = Thread.currentThread();
+            waitingProducers.add(current);
+            // Re-check after registering so a consumer that freed a slot in between is not missed
+            if (offer(car)) {
+                cancelWait(waitingProducers, current);
+                break;
+            }
+            if (timed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    cancelWait(waitingProducers, current);
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+            if (Thread.interrupted()) {
+                cancelWait(waitingProducers, current);
+                throw new InterruptedException();
+            }
+            waitingProducers.remove(current);
+            spins = 0;
+        }
+        signal(waitingConsumers);
+        return true;
+    }
+
+    @Override
+    public Car take() throws InterruptedException {
+        return take(false, 0L);
+    }
+
+    // Returns null if timed and nothing was published by the deadline
+    private Car take(boolean timed, long deadline) throws InterruptedException {
+        Car car;
+        for (int spins = 0; (car = poll()) == null; spins++) {
+            if (spins < SPINS) {
+                Thread.onSpinWait();
+                continue;
+            }
+            Thread current = Thread.currentThread();
+            waitingConsumers.add(current);
+            if ((car = poll()) != null) {
+                cancelWait(waitingConsumers, current);
+                break;
+            }
+            if (timed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    cancelWait(waitingConsumers, current);
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+            if (Thread.interrupted()) {
+                cancelWait(waitingConsumers, current);
+                throw new InterruptedException();
+            }
+            waitingConsumers.remove(current);
+            spins = 0;
+        }
+        signal(waitingProducers);
+        return car;
+    }
+
+    @Override
+    public int takeBatch(Car[] buffer, int max) throws InterruptedException {
+        buffer[0] = take();
+        return 1 + drainTo(buffer, 1, max - 1);
+    }
+
+    @Override
+    public int pollBatch(Car[] buffer, int offset, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        if (max <= 0) {
+            return 0;
+        }
+        Car car = take(true, System.nanoTime() + unit.toNanos(timeout));
+        if (car == null) {
+            return 0;
+        }
+        buffer[offset] = car;
+        return 1 + drainTo(buffer, offset + 1, max - 1);
+    }
+
+    // Claims a whole run of published slots with a single CAS on head
+    @Override
+    public int drainTo(Car[] buffer, int offset, int max) {
+        if (max <= 0) {
+            return 0;
+        }
+        long pos = head.get();
+        while (true) {
+            int count = 0;
+            while (count < max && sequences.get((int) ((pos + count) % capacity)) == 2 * (pos + count) + 1) {
+                count++;
+            }
+            if (count == 0) {
+                if (sequences.get((int) (pos % capacity)) - (2 * pos + 1) < 0) {
+                    return 0; // empty
+                }
+                pos = head.get(); // another consumer moved head, retry from there
+                continue;
+            }
+            if (head.compareAndSet(pos, pos + count)) {
+                for (int i = 0; i < count; i++) {
+                    int index = (int) ((pos + i) % capacity);
+                    buffer[offset + i] = slots[index];
+                    slots[index] = null;
+                    sequences.lazySet(index, 2 * (pos + i + capacity));
+                    signal(waitingProducers);
+                }
+                return count;
+            }
+            pos = head.get();
+        }
+    }
+
+    private static void signal(ConcurrentLinkedQueue<Thread> waiters) {
+        Thread waiter = waiters.poll();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    // If another thread already dequeued us to hand over a wakeup we no longer need,
+    // pass that wakeup on so it is not lost.
+    private static void cancelWait(ConcurrentLinkedQueue<Thread> waiters, Thread current) {
+        if (!waiters.remove(current)) {
+            signal(waiters);
+        }
+    }
+
+    @Override
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+}
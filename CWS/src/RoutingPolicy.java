@@ -0,0 +1,78 @@
+import java.util.SplittableRandom;
+
+// Picks the shard an arriving car drives into. Called from the single arrival thread.
+interface RoutingPolicy {
+    enum Kind {
+        ROUND_ROBIN,    // shard 1, 2, ..., n, 1, ...
+        SHORTEST_QUEUE, // fewest cars in the waiting area, scanning every shard
+        TWO_CHOICE,     // shorter of two random shards, nearly as good at O(1) cost
+        CHAIN           // sites along a road: the first one with a free slot, else the last
+    }
+
+    int route(ServiceStation[] shards);
+
+    static RoutingPolicy create(Kind kind, SplittableRandom random) {
+        switch (kind) {
+            case SHORTEST_QUEUE:
+                return new ShortestQueueRouting();
+            case TWO_CHOICE:
+                return new TwoChoiceRouting(random);
+            case CHAIN:
+                return new ChainRouting();
+            case ROUND_ROBIN:
+            default:
+                return new RoundRobinRouting();
+        }
+    }
+}
+
+class RoundRobinRouting implements RoutingPolicy {
+    private int next = 0;
+
+    @Override
+    public int route(ServiceStation[] shards) {
+        int shard = next;
+        next = (next + 1) % shards.length;
+        return shard;
+    }
+}
+
+class ShortestQueueRouting implements RoutingPolicy {
+    @Override
+    public int route(ServiceStation[] shards) {
+        int best = 0;
+        for (int i = 1; i < shards.length; i++) {
+            if (shards[i].getQueueSize() < shards[best].getQueueSize()) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
+
+class TwoChoiceRouting implements RoutingPolicy {
+    private final SplittableRandom random;
+
+    TwoChoiceRouting(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public int route(ServiceStation[] shards) {
+        int a = random.nextInt(shards.length);
+        int b = random.nextInt(shards.length);
+        return shards[b].getQueueSize() < shards[a].getQueueSize() ? b : a;
+    }
+}
+
+class ChainRouting implements RoutingPolicy {
+    @Override
+    public int route(ServiceStation[] shards) {
+        for (int i = 0; i < shards.length - 1; i++) {
+            if (shards[i].getQueueSize() < shards[i].getSlotSize()) {
+                return i;
+            }
+        }
+        return shards.length - 1;
+    }
+}
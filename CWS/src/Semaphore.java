@@ -0,0 +1,93 @@
+import java.util.concurrent.TimeUnit;
+
+class Semaphore {
+    private int permits;
+    private int waiters;
+    private final LockProfiler.Gate gate; // null unless profiling
+
+    public Semaphore(int initialPermits) {
+        this(initialPermits, null);
+    }
+
+    public Semaphore(int initialPermits, LockProfiler.Gate gate) {
+        if (initialPermits < 0) {
+            throw new IllegalArgumentException("Permits cannot be negative");
+        }
+        this.permits = initialPermits;
+        this.gate = gate;
+        if (gate != null && initialPermits == 0) {
+            gate.closed();
+        }
+    }
+
+    public synchronized void acquire() throws InterruptedException {
+        acquire(false, 0L);
+    }
+
+    // false if no permit came free within the timeout
+    public synchronized boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return acquire(true, System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    private boolean acquire(boolean timed, long deadline) throws InterruptedException {
+        if (permits == 0) {
+            long waitStart = gate != null ? System.nanoTime() : 0;
+            int queued = waiters++;
+            try {
+                while (permits == 0) {
+                    if (!timed) {
+                        wait();
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            } finally {
+                waiters--;
+            }
+            if (gate != null) {
+                gate.contended(waitStart, queued);
+            }
+        } else if (gate != null) {
+            gate.uncontended();
+        }
+        permits--;
+        if (permits == 0 && gate != null) {
+            gate.closed();
+        }
+        return true;
+    }
+
+    // Takes as many of the currently free permits as possible, up to max, without blocking
+    public synchronized int tryAcquireUpTo(int max) {
+        int taken = Math.min(permits, max);
+        permits -= taken;
+        if (taken > 0 && gate != null) {
+            gate.uncontended();
+            if (permits == 0) {
+                gate.closed();
+            }
+        }
+        return taken;
+    }
+
+    public synchronized void release() {
+        release(1);
+    }
+
+    public synchronized void release(int count) {
+        if (gate != null && count > 0) {
+            if (permits == 0) {
+                gate.opened();
+            }
+            gate.handoff(Math.min(count, waiters));
+        }
+        permits += count;
+        for (int i = 0; i < count; i++) {
+            notify();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+// A customer tier: its share of arrivals, its own service-time model and its priority
+// in the PRIORITY waiting area (higher goes first).
+//
+// -Dcws.classes takes ;-separated NAME:PRIORITY:WEIGHT:DISTRIBUTION entries, e.g.
+//   express:2:0.3:uniform:300:800;standard:1:0.5:uniform:1000:3000;premium:0:0.2:lognormal:6000:2000
+class ServiceClass {
+    final String name;
+    final int priority;
+    final double weight;
+    final Distribution serviceTimes;
+
+    ServiceClass(String name, int priority, double weight, Distribution serviceTimes) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Service class " + name + " needs a positive weight");
+        }
+        this.name = name;
+        this.priority = priority;
+        this.weight = weight;
+        this.serviceTimes = serviceTimes;
+    }
+
+    static ServiceClass[] parseAll(String spec) {
+        String[] entries = spec.split(";");
+        ServiceClass[] classes = new ServiceClass[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] parts = entries[i].trim().split(":", 4);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Expected NAME:PRIORITY:WEIGHT:DISTRIBUTION, got " + entries[i]);
+            }
+            try {
+                classes[i] = new ServiceClass(parts[0], Integer.parseInt(parts[1]),
+                        Double.parseDouble(parts[2]), Distribution.parse(parts[3]));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad priority or weight in service class " + entries[i], e);
+            }
+        }
+        if (classes.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("At most " + Byte.MAX_VALUE + " service classes");
+        }
+        return classes;
+    }
+
+    static String[] names(ServiceClass[] classes) {
+        String[] names = new String[classes.length];
+        for (int i = 0; i < classes.length; i++) {
+            names[i] = classes[i].name;
+        }
+        return names;
+    }
+}
@@ -1,222 +1,410 @@
-import java.util.LinkedList;
-import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ExecutorService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.SplittableRandom;
 import java.util.concurrent.TimeUnit;
 
 public class ServiceStation {
     // Shared
-    private final List<Car> carQueue;
-    private final Mutex carMutex;
-    private final Semaphore emptySlots;
-    private final Semaphore fullSlots;
+    private final WaitingArea waitingArea;
     private final Semaphore availablePumps;
-
+    private final LockProfiler profiler; // null unless -Dcws.profileLocks
+    private final SimulationStats stats;
+    private final EventLog log;
+    private final RandomStreams random;
+    private final ServiceClass[] serviceClasses;
+    private final double[] classWeights; // running totals of the class weights
+    private final EventJournal journal;
+    private final int shard;
+    private ArrivalTrace trace; // opened by the arrival thread on first use
+    private CarStore cars = new CarStore(0); // replaced by the engine before each run
+
+    private final StationConfig config;
     private final int slotSize;
     private final int numPumps;
     
     public ServiceStation(int slotSize, int numPumps) {
-        this.slotSize = slotSize;
-        this.numPumps = numPumps;
-        
-        this.carQueue = new LinkedList<>();
-        this.carMutex = new Mutex();
+        this(new StationConfig(slotSize, numPumps));
+    }
+
+    public ServiceStation(StationConfig config) {
+        this(config, config.seed, 0, config.journal == null
+                ? EventJournal.DISABLED : new EventJournal(config.journal, config.numPumps, 1),
+                new EventLog(config.logMode, System.out));
+    }
+
+    // Shards of a MultiStation share a config, journal and event log but each gets its own seed
+    public ServiceStation(StationConfig config, long seed, int shard, EventJournal journal, EventLog log) {
+        this.config = config;
+        this.shard = shard;
+        this.journal = journal;
+        this.log = log;
+        this.slotSize = config.slotSize;
+        this.numPumps = config.numPumps;
         
-        this.emptySlots = new Semaphore(slotSize);
-        this.fullSlots = new Semaphore(0);
-        this.availablePumps = new Semaphore(numPumps);
+        // Decided per station; the config may be shared with other shards or sweep cells
+        WaitingArea.Kind areaKind = config.waitingArea;
+        ThreadedEngine.CarMode carMode = ThreadedEngine.effectiveCarMode(config.carMode);
+        if (carMode == ThreadedEngine.CarMode.VIRTUAL && areaKind == WaitingArea.Kind.MONITOR) {
+            // A virtual thread blocked in wait() pins its carrier, so use the parking ring instead
+            if (config.verbose) {
+                System.out.println("Virtual-thread cars use the RING waiting area instead of MONITOR.");
+            }
+            areaKind = WaitingArea.Kind.RING;
+        }
+        this.profiler = config.profileLocks ? new LockProfiler() : null;
+        this.waitingArea = WaitingArea.create(areaKind, config, profiler);
+        this.availablePumps = new Semaphore(numPumps, LockProfiler.gate(profiler, "availablePumps"));
+        this.serviceClasses = config.serviceClasses();
+        this.classWeights = new double[serviceClasses.length];
+        double total = 0;
+        for (int i = 0; i < serviceClasses.length; i++) {
+            total += serviceClasses[i].weight;
+            classWeights[i] = total;
+        }
+        this.stats = new SimulationStats(numPumps, ServiceClass.names(serviceClasses));
+        this.random = new RandomStreams(seed, numPumps);
 
+        if (!config.verbose) {
+            return;
+        }
         System.out.println("\n--- Service Station Initialized ---");
-        System.out.println("Garage Waiting Area Size: " + slotSize);
+        System.out.println("Garage Waiting Area Size: " + slotSize + " (" + areaKind + ")");
         System.out.println("Number of Service Bays (Pumps): " + numPumps);
+        System.out.println("Engine: " + config.engine + " (cars: " + carMode + ")");
+        System.out.println("Random seed: " + seed);
         System.out.println("-----------------------------------\n");
     }
 
-    public void enterQueue(Car car) throws InterruptedException {
-        System.out.println(car.getName() + " ARRVES, checking queue space.");
-        emptySlots.acquire();
-        
-        carMutex.acquire();
-        
-        carQueue.add(car);
-        System.out.println(car.getName() + " ENTERS the queue. Queue size: " + carQueue.size());
-        
-        carMutex.release();
-        fullSlots.release();
+    // Returns false if the car gave up on every attempt and left without service
+    public boolean enterQueue(Car car) throws InterruptedException {
+        if (log.isEnabled()) {
+            log.event(EventLog.Type.ARRIVES, car.getName(), null, -1);
+        }
+        if (journal.isEnabled()) {
+            // Stamped with the time the engine dispatched the car, as the stats are
+            journal.recordArrival(cars.arrivalTime(car.getId()), car.getId(), cars.serviceClass(car.getId()), shard);
+        }
+        if (!config.carsMayLeave()) {
+            waitingArea.put(car);
+        } else if (!waitForSlot(car)) {
+            return false;
+        }
+        // The car is already visible to the pumps here, so in the journal a pump's TAKES
+        // can come before this ENTERS; replay only takes the queue depth from either
+        int queueSize = waitingArea.size();
+        stats.recordQueueDepth(queueSize);
+        journal.record(EventLog.Type.ENTERS, car.getId(), -1, queueSize, shard);
+        if (log.isEnabled()) {
+            log.event(EventLog.Type.ENTERS, car.getName(), null, queueSize);
+        }
+        return true;
     }
 
-    public Car takeCar() throws InterruptedException {
-        Car car = null;
-
-        fullSlots.acquire();
+    // Balk, renege and retry loop of an impatient car; returns true once it has a slot
+    private boolean waitForSlot(Car car) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            SplittableRandom draws = random.car(car.getId(), attempt);
+            EventLog.Type gaveUp;
+            if (config.balkAt > 0 && waitingArea.size() >= config.balkAt) {
+                stats.recordBalk();
+                gaveUp = EventLog.Type.BALKS;
+            } else if (config.patience == null) {
+                waitingArea.put(car);
+                return true;
+            } else if (waitingArea.offer(car, config.patience.sample(draws), TimeUnit.MILLISECONDS)) {
+                return true;
+            } else {
+                stats.recordRenege();
+                gaveUp = EventLog.Type.RENEGES;
+            }
+            int queueSize = waitingArea.size();
+            journal.record(gaveUp, car.getId(), -1, queueSize, shard);
+            if (log.isEnabled()) {
+                log.event(gaveUp, car.getName(), null, queueSize);
+            }
 
-        carMutex.acquire();
+            if (attempt >= config.retries) {
+                stats.recordLost(config.revenuePerCar);
+                journal.record(EventLog.Type.LEAVES, car.getId(), -1, -1, shard);
+                if (log.isEnabled()) {
+                    log.event(EventLog.Type.LEAVES, car.getName(), null, -1);
+                }
+                return false;
+            }
+            Thread.sleep(config.retryAfter.sample(draws));
+        }
+    }
 
-        car = carQueue.remove(0);
-        System.out.println(Thread.currentThread().getName() + " takes " + car.getName() + ". Queue size: " + carQueue.size());
+    public Car takeCar(int pump) throws InterruptedException {
+        Car car = waitingArea.take();
+        int queueSize = waitingArea.size();
+        stats.recordQueueDepth(queueSize);
+        journal.record(EventLog.Type.TAKES, car.getId(), pump, queueSize, shard);
+        if (log.isEnabled()) {
+            log.event(EventLog.Type.TAKES, car.getName(), Thread.currentThread().getName(), queueSize);
+        }
+        return car;
+    }
 
-        carMutex.release();
+    // Moves up to max waiting cars into buffer: blocks for the first one, takes whatever
+    // else is queued in the same critical section, then lingers up to lingerMs for more.
+    public int takeCars(int pump, Car[] buffer, int max, long lingerMs) throws InterruptedException {
+        int count = linger(buffer, waitingArea.takeBatch(buffer, max), max, lingerMs);
 
-        emptySlots.release();
+        int queueSize = waitingArea.size();
+        stats.recordQueueDepth(queueSize);
+        recordTakes(buffer, count, pump, shard, queueSize);
+        return count;
+    }
 
-        return car;
+    // Like takeCars, but waits at most waitNanos for the first car and returns 0 if none comes
+    public int pollCars(int pump, Car[] buffer, int max, long waitNanos, long lingerMs) throws InterruptedException {
+        int count = waitingArea.pollBatch(buffer, 0, max, waitNanos, TimeUnit.NANOSECONDS);
+        if (count == 0) {
+            return 0;
+        }
+        count = linger(buffer, count, max, lingerMs);
+        int queueSize = waitingArea.size();
+        stats.recordQueueDepth(queueSize);
+        recordTakes(buffer, count, pump, shard, queueSize);
+        return count;
     }
 
-    public void startService() throws InterruptedException {
-        availablePumps.acquire();
-        System.out.println(Thread.currentThread().getName() + " ACQUIRES a service bay and STARTS service.");
+    // Non-blocking version of takeCars for pumps that also serve other shards; pumpShard
+    // is the shard the pump belongs to, which is not this one when it steals
+    public int pollCars(int pump, int pumpShard, Car[] buffer, int max) {
+        int count = waitingArea.drainTo(buffer, 0, max);
+        if (count == 0) {
+            return 0;
+        }
+        int queueSize = waitingArea.size();
+        stats.recordQueueDepth(queueSize);
+        recordTakes(buffer, count, pump, pumpShard, queueSize);
+        return count;
     }
 
-    public void finishService() {
-        System.out.println(Thread.currentThread().getName() + " FINISHES service and RELEASES the bay.");
-        availablePumps.release();
+    // The pump stays parked in the waiting area until the next arrival signals it or the
+    // linger runs out, rather than waking up to look
+    private int linger(Car[] buffer, int count, int max, long lingerMs) throws InterruptedException {
+        if (count >= max || lingerMs <= 0) {
+            return count;
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (count < max) {
+            long remaining = deadline - System.nanoTime();
+            int more = remaining > 0
+                    ? waitingArea.pollBatch(buffer, count, max - count, remaining, TimeUnit.NANOSECONDS)
+                    : 0;
+            if (more == 0) {
+                break;
+            }
+            count += more;
+        }
+        return count;
     }
-    
-    public void runSimulation(int totalCars) {
-        ExecutorService pumpPool = Executors.newFixedThreadPool(numPumps);
-
-        // Creating and starting Pump threads (Consumers)
-        for (int i = 0; i < numPumps; i++) {
-            Pump pump = new Pump("Pump-" + (i + 1), this);
-            pumpPool.submit(pump);
-        }
-
-        // Creating and starting Car threads (Producers)
-        for (int i = 1; i <= totalCars; i++) 
-        {
-            Car car = new Car("Car-" + i, this);
-            car.start();
-            try 
-            {
-                Thread.sleep((int)(Math.random() * 1000));
-            } 
-            catch (InterruptedException e) 
-            {
-                Thread.currentThread().interrupt();
+
+    private void recordTakes(Car[] buffer, int count, int pump, int pumpShard, int queueSize) {
+        for (int i = 0; i < count; i++) {
+            journal.record(EventLog.Type.TAKES, buffer[i].getId(), pump, queueSize, pumpShard);
+        }
+        if (log.isEnabled()) {
+            String pumpName = Thread.currentThread().getName();
+            for (int i = 0; i < count; i++) {
+                log.event(EventLog.Type.TAKES, buffer[i].getName(), pumpName, queueSize);
             }
         }
+    }
 
-        try {
-            Thread.sleep(15000);
-            pumpPool.shutdownNow();
-            pumpPool.awaitTermination(1, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    public void startService(int pump) throws InterruptedException {
+        availablePumps.acquire();
+        if (log.isEnabled()) {
+            log.event(EventLog.Type.BAY_ACQUIRED, null, Thread.currentThread().getName(), -1);
         }
+        journal.record(EventLog.Type.BAY_ACQUIRED, -1, pump, -1, shard);
+    }
 
-        System.out.println("\nAll cars processed; simulation ends.");
+    public void finishService(int pump) {
+        if (log.isEnabled()) {
+            log.event(EventLog.Type.BAY_RELEASED, null, Thread.currentThread().getName(), -1);
+        }
+        journal.record(EventLog.Type.BAY_RELEASED, -1, pump, -1, shard);
+        availablePumps.release();
+    }
+    
+    public int getNumPumps() {
+        return numPumps;
     }
 
-    public static void main(String[] args) {
-        java.util.Scanner scanner = new java.util.Scanner(System.in);
-        
-        System.out.print("Enter waiting area capacity (1-10): ");
-        int slotSize = scanner.nextInt();
+    public int getSlotSize() {
+        return slotSize;
+    }
 
-        System.out.print("Enter number of pumps: ");
-        int numPumps = scanner.nextInt();
+    public int getQueueSize() {
+        return waitingArea.size();
+    }
 
-        System.out.print("Enter number of cars to simulate: ");
-        int totalCars = scanner.nextInt();
+    public StationConfig getConfig() {
+        return config;
+    }
 
-        scanner.close();
-        ServiceStation station = new ServiceStation(slotSize, numPumps);
-        station.runSimulation(totalCars);
+    public EventLog getLog() {
+        return log;
     }
-}
 
-class Car extends Thread {
-    private final ServiceStation station;
+    public SimulationStats getStats() {
+        return stats;
+    }
 
-    public Car(String name, ServiceStation station) 
-    {
-        super(name);
-        this.station = station;
+    RandomStreams getRandom() {
+        return random;
     }
 
-    @Override
-    public void run() 
-    {
-        try 
-        {
-            station.enterQueue(this);
-        } 
-        catch (InterruptedException e) 
-        {
-            Thread.currentThread().interrupt();
-        }
+    public CarStore getCars() {
+        return cars;
     }
-}
 
-class Pump implements Runnable {
-    private final String name;
-    private final ServiceStation station;
+    // Engines size a store for the run before any car arrives; shards share one
+    void setCarStore(CarStore cars) {
+        this.cars = cars;
+    }
 
-    public Pump(String name, ServiceStation station) 
-    {
-        this.name = name;
-        this.station = station;
+    public EventJournal getJournal() {
+        return journal;
     }
 
-    @Override
-    public void run() 
-    {
-        Thread.currentThread().setName(name);
-        try 
-        {
-            while (true) 
-            {
-                Car car = station.takeCar();
-                station.startService();
+    void printContention(String label) {
+        if (profiler != null) {
+            profiler.print(label);
+        }
+    }
 
-                System.out.println(name + " STARTS servicing " + car.getName());
-                Thread.sleep((int)(Math.random() * 2000 + 1000));
-                System.out.println(name + " FINISHES servicing " + car.getName());
+    public int getShard() {
+        return shard;
+    }
 
-                station.finishService();
+    // Both engines draw from the same model so their statistics are comparable.
+    // Only the arrival thread may call nextArrivalGap, and only pump's own thread
+    // nextServiceTime(pump). -1 means the arrival trace has no more cars.
+    long nextArrivalGap() {
+        if (config.arrivalTrace == null) {
+            return config.arrivalGaps.sample(random.arrivals());
+        }
+        if (trace == null) {
+            try {
+                trace = new ArrivalTrace(config.arrivalTrace);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open arrival trace " + config.arrivalTrace, e);
             }
-        } 
-        catch (InterruptedException e) 
-        {
-            Thread.currentThread().interrupt();
         }
+        return trace.nextGap();
     }
-}
 
-class Semaphore {
-    private int permits;
-    public Semaphore(int initialPermits) {
-        if (initialPermits < 0) {
-            throw new IllegalArgumentException("Permits cannot be negative");
+    // Also drawn on the arrival thread; a single class draws nothing, so seeds from
+    // single-class runs replay unchanged
+    int nextServiceClass() {
+        if (serviceClasses.length == 1) {
+            return 0;
+        }
+        double pick = random.arrivals().nextDouble() * classWeights[classWeights.length - 1];
+        int serviceClass = 0;
+        while (serviceClass < classWeights.length - 1 && pick >= classWeights[serviceClass]) {
+            serviceClass++;
         }
-        this.permits = initialPermits;
+        return serviceClass;
+    }
+
+    long nextServiceTime(int pump, int serviceClass) {
+        return serviceClasses[serviceClass].serviceTimes.sample(random.pump(pump));
+    }
+
+    public ServiceClass[] getServiceClasses() {
+        return serviceClasses;
     }
 
-    public synchronized void acquire() throws InterruptedException {
-        while (permits == 0) {
-            wait();
+    void closeArrivals() {
+        if (trace == null) {
+            return;
         }
-        permits--;
+        try {
+            trace.close();
+        } catch (IOException e) {
+            // nothing left to read from it anyway
+        }
+        trace = null;
     }
 
-    public synchronized void release() {
-        permits++;
-        notify();
+    // Starts the run in the background. The handle completes once every arrived car is
+    // serviced and all pump and car threads have stopped.
+    public SimulationHandle start(int totalCars) {
+        SimulationHandle handle = new SimulationHandle(totalCars);
+        // Watch the run live under cws:type=ServiceStation in JConsole
+        stats.registerMBean();
+        handle.onStop(() -> {
+            stats.unregisterMBean();
+            closeArrivals();
+            journal.close();
+            log.close();
+        });
+        SimulationEngine.create(config.engine).start(this, totalCars, handle);
+        return handle;
     }
-}
 
-class Mutex {
-    private boolean locked = false;
+    public SimulationStats runSimulation(int totalCars) {
+        long wallStart = System.currentTimeMillis();
+        SimulationStats result = start(totalCars).completion().join();
 
-    public synchronized void acquire() throws InterruptedException {
-        while (locked) {
-            wait();
+        System.out.println("\nAll cars processed; simulation ends.");
+        result.print(config.engine.name().toLowerCase().replace('_', '-'));
+        System.out.println("Wall-clock time: " + (System.currentTimeMillis() - wallStart) + " ms");
+        if (journal.isEnabled()) {
+            System.out.println("Event journal: " + journal.close() + " events in " + config.journal);
+        }
+        if (config.engine == SimulationEngine.Kind.THREADED) {
+            printContention("station"); // the discrete-event engine never touches the gates
         }
-        locked = true;
+        return result;
     }
 
-    public synchronized void release() {
-        locked = false;
-        notify();
+    public static void main(String[] args) {
+        java.util.Scanner scanner = new java.util.Scanner(System.in);
+        
+        System.out.print("Enter waiting area capacity (1-10): ");
+        int slotSize = scanner.nextInt();
+
+        System.out.print("Enter number of pumps: ");
+        int numPumps = scanner.nextInt();
+
+        System.out.print("Enter number of cars to simulate: ");
+        int totalCars = scanner.nextInt();
+
+        scanner.close();
+        // ParameterSweep runs a whole grid of these without prompting
+
+        // -Dcws.waitingArea=ring selects the lock-free waiting area (parking for the
+        // spin-then-park one, plus -Dcws.fair=true for FIFO slot handout),
+        // -Dcws.engine=discrete_event the virtual-clock engine,
+        // -Dcws.cars=virtual|task runs cars without a platform thread each,
+        // -Dcws.batch=N (and -Dcws.batchLingerMs) lets each pump take N cars at a time,
+        // -Dcws.log=off|async|sync picks how station events are printed,
+        // -Dcws.arrivals=SPEC / -Dcws.service=SPEC pick the timing models (see Distribution)
+        // and -Dcws.trace=FILE replays recorded arrivals instead,
+        // -Dcws.journal=FILE records every event for JournalReplay,
+        // -Dcws.profileLocks=true reports where threads waited on the station's gates,
+        // -Dcws.balkAt=N / -Dcws.patience=SPEC let cars drive off at a long queue or after
+        // waiting too long for a slot, -Dcws.retries=N (-Dcws.retryAfter=SPEC) bring them
+        // back and -Dcws.revenue=AMOUNT prices each car lost for good,
+        // -Dcws.seed=N replays the arrival gaps and service times of an earlier run (the
+        // whole run only with the discrete-event engine, see StationConfig.seed),
+        // -Dcws.shards=N runs N such stations side by side, with -Dcws.routing=round_robin|
+        // shortest_queue|two_choice|chain spreading arrivals and -Dcws.steal=false keeping
+        // pumps on their own shard
+        StationConfig config = StationConfig.fromSystemProperties(slotSize, numPumps);
+
+        if (config.shards > 1) {
+            new MultiStation(config).runSimulation(totalCars);
+            return;
+        }
+        ServiceStation station = new ServiceStation(config);
+        station.runSimulation(totalCars);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+// Drives a ServiceStation through a run of totalCars cars and reports what happened.
+interface SimulationEngine {
+    enum Kind {
+        THREADED,       // one thread per car and per pump, real sleeps
+        DISCRETE_EVENT  // single thread, virtual clock
+    }
+
+    // Starts the run in the background and returns at once; handle reports on it and
+    // completes when the run is over
+    void start(ServiceStation station, int totalCars, SimulationHandle handle);
+
+    default SimulationStats run(ServiceStation station, int totalCars) {
+        SimulationHandle handle = new SimulationHandle(totalCars);
+        start(station, totalCars, handle);
+        return handle.completion().join();
+    }
+
+    static SimulationEngine create(Kind kind) {
+        switch (kind) {
+            case DISCRETE_EVENT:
+                return new DiscreteEventEngine();
+            case THREADED:
+            default:
+                return new ThreadedEngine();
+        }
+    }
+}
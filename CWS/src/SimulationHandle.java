@@ -0,0 +1,204 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A simulation running in the background. The run ends when every car that arrived has
+// been serviced or has given up, on drainThenStop() once the cars already there are serviced, or right
+// away on cancel(). The completion future only completes after every pump and car thread
+// has stopped, with the run's stats (partial ones after a cancel).
+class SimulationHandle {
+    private final int totalCars;
+    private final CompletableFuture<SimulationStats> completion = new CompletableFuture<>();
+    private final List<Runnable> stopHooks = new ArrayList<>();
+    private final AtomicLong arrived = new AtomicLong();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong lost = new AtomicLong();
+    private final AtomicLong departed = new AtomicLong(); // served + lost
+    private final CountDownLatch drained = new CountDownLatch(1);
+
+    private volatile boolean arrivalsClosed;
+    private volatile boolean drainRequested;
+    private volatile boolean cancelled;
+    private Thread controller;
+
+    public SimulationHandle(int totalCars) {
+        this.totalCars = totalCars;
+    }
+
+    public CompletableFuture<SimulationStats> completion() {
+        return completion;
+    }
+
+    public SimulationStats await() throws InterruptedException {
+        try {
+            return completion.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        }
+    }
+
+    // false if the run is still going after the timeout
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            completion.get(timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        }
+    }
+
+    // Stops at once: pumps drop the car they are servicing, waiting cars are abandoned
+    public void cancel() {
+        cancelled = true;
+        wakeController();
+    }
+
+    // No more arrivals; the run ends once every car already at the station is serviced
+    public void drainThenStop() {
+        drainRequested = true;
+        wakeController();
+    }
+
+    public int getTotalCars() {
+        return totalCars;
+    }
+
+    public long getCarsArrived() {
+        return arrived.get();
+    }
+
+    public long getCarsServed() {
+        return served.get();
+    }
+
+    public long getCarsLost() {
+        return lost.get();
+    }
+
+    // Share of totalCars serviced or lost so far, 0 to 1
+    public double getProgress() {
+        return totalCars == 0 ? 1.0 : Math.min(1.0, (double) departed.get() / totalCars);
+    }
+
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    // Engine side ---------------------------------------------------------------
+
+    // Runs on the finishing thread after all simulation threads stopped, before completion
+    void onStop(Runnable hook) {
+        synchronized (stopHooks) {
+            stopHooks.add(hook);
+        }
+    }
+
+    // The thread that generates arrivals and waits for the end; woken by cancel / drain
+    synchronized void setController(Thread thread) {
+        this.controller = thread;
+        if (cancelled || drainRequested) {
+            thread.interrupt();
+        }
+    }
+
+    // Called by the controller before it runs the stop hooks, which may do interruptible I/O
+    synchronized void detachController() {
+        if (controller == Thread.currentThread()) {
+            controller = null;
+            Thread.interrupted();
+        }
+    }
+
+    boolean shouldStopArrivals() {
+        return cancelled || drainRequested;
+    }
+
+    void carArrived() {
+        arrived.incrementAndGet();
+    }
+
+    // Both carDeparted() and closeArrivals() re-check the other side's state after publishing
+    // their own, so whichever happens last releases awaitDrained()
+    void carServed() {
+        served.incrementAndGet();
+        carDeparted();
+    }
+
+    // The car drove off for good without being serviced
+    void carLost() {
+        lost.incrementAndGet();
+        carDeparted();
+    }
+
+    private void carDeparted() {
+        if (departed.incrementAndGet() == arrived.get() && arrivalsClosed) {
+            drained.countDown();
+        }
+    }
+
+    void closeArrivals() {
+        arrivalsClosed = true;
+        if (departed.get() == arrived.get()) {
+            drained.countDown();
+        }
+    }
+
+    // Returns once every arrived car is serviced or lost, or the run is cancelled
+    void awaitDrained() {
+        while (!cancelled) {
+            try {
+                drained.await();
+                return;
+            } catch (InterruptedException e) {
+                // a cancel or drain request; the loop condition tells which
+            }
+        }
+    }
+
+    void finish(SimulationStats stats) {
+        try {
+            runStopHooks();
+            completion.complete(stats);
+        } catch (RuntimeException | Error e) {
+            completion.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // The run itself failed: still release its resources, then report the cause
+    void fail(Throwable cause) {
+        try {
+            runStopHooks();
+        } catch (RuntimeException | Error e) {
+            cause.addSuppressed(e);
+        }
+        completion.completeExceptionally(cause);
+    }
+
+    private void runStopHooks() {
+        List<Runnable> hooks;
+        synchronized (stopHooks) {
+            hooks = new ArrayList<>(stopHooks);
+        }
+        for (Runnable hook : hooks) {
+            hook.run();
+        }
+    }
+
+    private synchronized void wakeController() {
+        if (controller != null) {
+            controller.interrupt();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Per-run metrics. Times are milliseconds on whatever clock the engine runs on
+// (wall clock for the threaded engine, virtual clock for the discrete-event one).
+//
+// Nothing here takes a lock: totals are striped LongAdders, distributions are
+// LatencyHistograms and each pump only ever writes its own slot of the per-pump arrays.
+class SimulationStats implements StationStatsMXBean {
+    private static final AtomicInteger STATION_IDS = new AtomicInteger();
+
+    private final LongAdder carsServed = new LongAdder();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final LatencyHistogram serviceTimes = new LatencyHistogram();
+    private final LatencyHistogram queueDepths = new LatencyHistogram();
+    private final AtomicLongArray pumpBusy;
+    private final AtomicLongArray pumpServed;
+    private final LongAccumulator firstArrival = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator lastFinish = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    // Broken out by ServiceClass, in the station's class order
+    private final String[] classNames;
+    private final LongAdder[] classServed;
+    private final LatencyHistogram[] classWaitTimes;
+    private final LatencyHistogram[] classServiceTimes;
+    // Cars that drove away at a long queue, gave up waiting for a slot, or did either on
+    // every attempt and never came back (each of those also counts one balk or renege)
+    private final LongAdder carsBalked = new LongAdder();
+    private final LongAdder carsReneged = new LongAdder();
+    private final LongAdder carsLost = new LongAdder();
+    private final DoubleAdder lostRevenue = new DoubleAdder();
+
+    private ObjectName mbeanName;
+
+    public SimulationStats(int numPumps) {
+        this(numPumps, new String[] {"standard"});
+    }
+
+    public SimulationStats(int numPumps, String[] classNames) {
+        this.pumpBusy = new AtomicLongArray(numPumps);
+        this.pumpServed = new AtomicLongArray(numPumps);
+        this.classNames = classNames.clone();
+        this.classServed = new LongAdder[classNames.length];
+        this.classWaitTimes = new LatencyHistogram[classNames.length];
+        this.classServiceTimes = new LatencyHistogram[classNames.length];
+        for (int i = 0; i < classNames.length; i++) {
+            classServed[i] = new LongAdder();
+            classWaitTimes[i] = new LatencyHistogram();
+            classServiceTimes[i] = new LatencyHistogram();
+        }
+    }
+
+    public void recordService(int pump, CarStore cars, int car) {
+        recordService(pump, cars.serviceClass(car), cars.arrivalTime(car), cars.serviceStart(car), cars.finishTime(car));
+    }
+
+    public void recordService(int pump, long arrivalTime, long serviceStart, long serviceFinish) {
+        recordService(pump, 0, arrivalTime, serviceStart, serviceFinish);
+    }
+
+    public void recordService(int pump, int serviceClass, long arrivalTime, long serviceStart, long serviceFinish) {
+        long wait = serviceStart - arrivalTime;
+        long service = serviceFinish - serviceStart;
+        carsServed.increment();
+        waitTimes.record(wait);
+        serviceTimes.record(service);
+        classServed[serviceClass].increment();
+        classWaitTimes[serviceClass].record(wait);
+        classServiceTimes[serviceClass].record(service);
+        pumpBusy.addAndGet(pump, service);
+        pumpServed.incrementAndGet(pump);
+        firstArrival.accumulate(arrivalTime);
+        lastFinish.accumulate(serviceFinish);
+    }
+
+    public void recordBalk() {
+        carsBalked.increment();
+    }
+
+    public void recordRenege() {
+        carsReneged.increment();
+    }
+
+    public void recordLost(double revenue) {
+        carsLost.increment();
+        lostRevenue.add(revenue);
+    }
+
+    // One report over several stations; pumps are numbered on in station order
+    public static SimulationStats combine(SimulationStats... parts) {
+        int numPumps = 0;
+        for (SimulationStats part : parts) {
+            numPumps += part.pumpBusy.length();
+        }
+        SimulationStats combined = new SimulationStats(numPumps, parts[0].classNames);
+        int pump = 0;
+        for (SimulationStats part : parts) {
+            combined.carsServed.add(part.carsServed.sum());
+            combined.waitTimes.add(part.waitTimes);
+            combined.serviceTimes.add(part.serviceTimes);
+            combined.queueDepths.add(part.queueDepths);
+            for (int i = 0; i < part.pumpBusy.length(); i++, pump++) {
+                combined.pumpBusy.set(pump, part.pumpBusy.get(i));
+                combined.pumpServed.set(pump, part.pumpServed.get(i));
+            }
+            for (int c = 0; c < combined.classNames.length; c++) {
+                combined.classServed[c].add(part.classServed[c].sum());
+                combined.classWaitTimes[c].add(part.classWaitTimes[c]);
+                combined.classServiceTimes[c].add(part.classServiceTimes[c]);
+            }
+            combined.carsBalked.add(part.carsBalked.sum());
+            combined.carsReneged.add(part.carsReneged.sum());
+            combined.carsLost.add(part.carsLost.sum());
+            combined.lostRevenue.add(part.lostRevenue.sum());
+            combined.firstArrival.accumulate(part.firstArrival.get());
+            combined.lastFinish.accumulate(part.lastFinish.get());
+        }
+        return combined;
+    }
+
+    // Sampled whenever a car enters or leaves the waiting area
+    public void recordQueueDepth(int depth) {
+        queueDepths.record(depth);
+    }
+
+    public LatencyHistogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    public LatencyHistogram getServiceTimes() {
+        return serviceTimes;
+    }
+
+    public LatencyHistogram getQueueDepths() {
+        return queueDepths;
+    }
+
+    public LatencyHistogram getClassWaitTimes(int serviceClass) {
+        return classWaitTimes[serviceClass];
+    }
+
+    @Override
+    public String[] getServiceClasses() {
+        return classNames.clone();
+    }
+
+    @Override
+    public long[] getClassCarsServed() {
+        long[] served = new long[classNames.length];
+        for (int i = 0; i < served.length; i++) {
+            served[i] = classServed[i].sum();
+        }
+        return served;
+    }
+
+    @Override
+    public long[] getClassWaitP99() {
+        long[] p99 = new long[classNames.length];
+        for (int i = 0; i < p99.length; i++) {
+            p99[i] = classWaitTimes[i].getPercentile(99);
+        }
+        return p99;
+    }
+
+    @Override
+    public long getCarsServed() {
+        return carsServed.sum();
+    }
+
+    @Override
+    public long getCarsBalked() {
+        return carsBalked.sum();
+    }
+
+    @Override
+    public long getCarsReneged() {
+        return carsReneged.sum();
+    }
+
+    @Override
+    public long getCarsLost() {
+        return carsLost.sum();
+    }
+
+    // Share of the cars that came and are accounted for (served or lost) that were lost
+    @Override
+    public double getAbandonmentRate() {
+        long lost = carsLost.sum();
+        long total = lost + carsServed.sum();
+        return total == 0 ? 0 : (double) lost / total;
+    }
+
+    @Override
+    public double getLostRevenue() {
+        return lostRevenue.sum();
+    }
+
+    public double getAverageWait() {
+        return waitTimes.getMean();
+    }
+
+    public double getAverageService() {
+        return serviceTimes.getMean();
+    }
+
+    public long getElapsed() {
+        long last = lastFinish.get();
+        return last == Long.MIN_VALUE ? 0 : last - firstArrival.get();
+    }
+
+    @Override
+    public double getThroughputPerMinute() {
+        long elapsed = getElapsed();
+        return elapsed == 0 ? 0 : getCarsServed() * 60000.0 / elapsed;
+    }
+
+    @Override
+    public long getWaitP50() {
+        return waitTimes.getPercentile(50);
+    }
+
+    @Override
+    public long getWaitP95() {
+        return waitTimes.getPercentile(95);
+    }
+
+    @Override
+    public long getWaitP99() {
+        return waitTimes.getPercentile(99);
+    }
+
+    @Override
+    public long getWaitMax() {
+        return waitTimes.getMax();
+    }
+
+    @Override
+    public long getServiceP50() {
+        return serviceTimes.getPercentile(50);
+    }
+
+    @Override
+    public long getServiceP95() {
+        return serviceTimes.getPercentile(95);
+    }
+
+    @Override
+    public long getServiceP99() {
+        return serviceTimes.getPercentile(99);
+    }
+
+    @Override
+    public long getServiceMax() {
+        return serviceTimes.getMax();
+    }
+
+    @Override
+    public long getQueueDepthP50() {
+        return queueDepths.getPercentile(50);
+    }
+
+    @Override
+    public long getQueueDepthP99() {
+        return queueDepths.getPercentile(99);
+    }
+
+    @Override
+    public long getQueueDepthMax() {
+        return queueDepths.getMax();
+    }
+
+    // Share of the run each pump spent servicing; the rest is idle time
+    @Override
+    public double[] getPumpUtilization() {
+        long elapsed = getElapsed();
+        double[] utilization = new double[pumpBusy.length()];
+        for (int i = 0; i < utilization.length; i++) {
+            utilization[i] = elapsed == 0 ? 0 : Math.min(1.0, (double) pumpBusy.get(i) / elapsed);
+        }
+        return utilization;
+    }
+
+    @Override
+    public long[] getPumpCarsServed() {
+        long[] served = new long[pumpServed.length()];
+        for (int i = 0; i < served.length; i++) {
+            served[i] = pumpServed.get(i);
+        }
+        return served;
+    }
+
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            mbeanName = new ObjectName("cws:type=ServiceStation,name=Station-" + STATION_IDS.incrementAndGet());
+            server.registerMBean(this, mbeanName);
+        } catch (JMException e) {
+            System.out.println("Station metrics not published over JMX: " + e.getMessage());
+            mbeanName = null;
+        }
+    }
+
+    public void unregisterMBean() {
+        if (mbeanName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+        } catch (JMException e) {
+            // already gone
+        }
+        mbeanName = null;
+    }
+
+    public void print(String engineName) {
+        System.out.println("\n--- Simulation Statistics (" + engineName + ") ---");
+        System.out.println("Cars served: " + getCarsServed());
+        printDistribution("Wait time (ms)", waitTimes);
+        printDistribution("Service time (ms)", serviceTimes);
+        printDistribution("Queue depth", queueDepths);
+        if (classNames.length > 1) {
+            for (int i = 0; i < classNames.length; i++) {
+                System.out.println("Class " + classNames[i] + ": " + classServed[i].sum() + " cars");
+                printDistribution("  wait (ms)", classWaitTimes[i]);
+                printDistribution("  service (ms)", classServiceTimes[i]);
+            }
+        }
+        long lost = getCarsLost();
+        if (lost > 0 || getCarsBalked() > 0 || getCarsReneged() > 0) {
+            System.out.printf("Abandonment: %d balked, %d reneged, %d cars lost (%.1f%% of arrivals)%n",
+                    getCarsBalked(), getCarsReneged(), lost, getAbandonmentRate() * 100);
+            if (getLostRevenue() > 0) {
+                System.out.printf("Lost revenue: %.2f%n", getLostRevenue());
+            }
+        }
+        System.out.println("Elapsed time: " + getElapsed() + " ms");
+        System.out.printf("Throughput: %.2f cars/min%n", getThroughputPerMinute());
+
+        double[] utilization = getPumpUtilization();
+        for (int i = 0; i < utilization.length; i++) {
+            System.out.printf("Pump-%d: %.1f%% busy, %d cars%n", i + 1, utilization[i] * 100, pumpServed.get(i));
+        }
+        System.out.println("-----------------------------------");
+    }
+
+    private static void printDistribution(String label, LatencyHistogram histogram) {
+        System.out.printf("%-18s p50 %d | p95 %d | p99 %d | max %d | mean %.1f%n", label + ":",
+                histogram.getPercentile(50), histogram.getPercentile(95), histogram.getPercentile(99),
+                histogram.getMax(), histogram.getMean());
+    }
+}
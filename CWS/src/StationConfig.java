@@ -0,0 +1,132 @@
+import java.nio.file.Path;
+
+// Parameters for one simulation run. Defaults reproduce the original console simulator.
+class StationConfig {
+    int slotSize;
+    int numPumps;
+
+    WaitingArea.Kind waitingArea = WaitingArea.Kind.MONITOR;
+    boolean fairWaiting = false; // FIFO slot handout, PARKING waiting area only
+    SimulationEngine.Kind engine = SimulationEngine.Kind.THREADED;
+    ThreadedEngine.CarMode carMode = ThreadedEngine.CarMode.PLATFORM;
+
+    // Cars a pump moves out of the waiting area per take, and how long it waits for a
+    // partial batch to fill. Cars held in a pump's batch no longer occupy a waiting slot.
+    int batchSize = 1;
+    long batchLingerMs = 0;
+
+    EventLog.Mode logMode = EventLog.Mode.ASYNC;
+    boolean verbose = true; // start-up banner and notes; sweeps run hundreds of stations quietly
+
+    // More than one shard runs a MultiStation: every shard gets slotSize slots and numPumps bays
+    int shards = 1;
+    RoutingPolicy.Kind routing = RoutingPolicy.Kind.ROUND_ROBIN;
+    boolean workStealing = true;
+
+    // Master seed for arrival gaps and service times. Only the discrete-event engine replays
+    // the same run from the same seed and config. The threaded engine draws the same
+    // numbers, but the scheduler decides which pump serves which car and when, so its
+    // events and statistics differ from run to run.
+    long seed = System.nanoTime();
+
+    // Car i + 1 arrives arrivalGaps after car i and is serviced for serviceTimes, in ms.
+    // An arrival trace, when set, replaces arrivalGaps and ends the run when it runs out.
+    Distribution arrivalGaps = new UniformDistribution(0, 1000);
+    Distribution serviceTimes = new UniformDistribution(1000, 3000);
+    Path arrivalTrace = null;
+
+    // Customer tiers; null means one "standard" class serviced for serviceTimes. In the
+    // PRIORITY waiting area every agingMs of waiting is worth one priority level.
+    ServiceClass[] classes = null;
+    long agingMs = 10000;
+
+    // Customer behaviour. A car balks (drives off) if balkAt or more cars are already in the
+    // waiting area, and reneges if no slot frees up within its patience. Either way it
+    // comes back after retryAfter, up to retries times, and is then lost along with
+    // revenuePerCar. balkAt 0 and patience null mean cars wait however long it takes.
+    int balkAt = 0;
+    Distribution patience = null;
+    int retries = 0;
+    Distribution retryAfter = new UniformDistribution(1000, 5000);
+    double revenuePerCar = 0;
+
+    // Per-gate wait, hold and queue-length report for Mutex and Semaphore at the end of a
+    // threaded run; off by default
+    boolean profileLocks = false;
+
+    // Binary event journal to record the run into (see EventJournal), null for none
+    Path journal = null;
+
+    public StationConfig(int slotSize, int numPumps) {
+        if (slotSize < 1 || numPumps < 1) {
+            throw new IllegalArgumentException("Waiting area and pump count must be at least 1");
+        }
+        this.slotSize = slotSize;
+        this.numPumps = numPumps;
+    }
+
+    public boolean carsMayLeave() {
+        return balkAt > 0 || patience != null;
+    }
+
+    public ServiceClass[] serviceClasses() {
+        return classes != null ? classes : new ServiceClass[] {new ServiceClass("standard", 0, 1, serviceTimes)};
+    }
+
+    // Reads the optional -Dcws.* switches on top of the interactive values
+    public static StationConfig fromSystemProperties(int slotSize, int numPumps) {
+        StationConfig config = new StationConfig(slotSize, numPumps);
+        config.waitingArea = WaitingArea.Kind.valueOf(
+                System.getProperty("cws.waitingArea", config.waitingArea.name()).toUpperCase());
+        config.fairWaiting = Boolean.getBoolean("cws.fair");
+        config.profileLocks = Boolean.getBoolean("cws.profileLocks");
+        config.batchSize = Math.max(1, Integer.getInteger("cws.batch", config.batchSize));
+        config.batchLingerMs = Long.getLong("cws.batchLingerMs", config.batchLingerMs);
+        config.logMode = EventLog.Mode.valueOf(
+                System.getProperty("cws.log", config.logMode.name()).toUpperCase());
+        config.engine = SimulationEngine.Kind.valueOf(
+                System.getProperty("cws.engine", config.engine.name()).toUpperCase());
+        config.carMode = ThreadedEngine.CarMode.valueOf(
+                System.getProperty("cws.cars", config.carMode.name()).toUpperCase());
+        config.seed = Long.getLong("cws.seed", config.seed);
+        String arrivals = System.getProperty("cws.arrivals");
+        if (arrivals != null) {
+            config.arrivalGaps = Distribution.parse(arrivals);
+        }
+        String service = System.getProperty("cws.service");
+        if (service != null) {
+            config.serviceTimes = Distribution.parse(service);
+        }
+        String classes = System.getProperty("cws.classes");
+        if (classes != null) {
+            config.classes = ServiceClass.parseAll(classes);
+        }
+        config.agingMs = Long.getLong("cws.agingMs", config.agingMs);
+        config.balkAt = Integer.getInteger("cws.balkAt", config.balkAt);
+        String patience = System.getProperty("cws.patience");
+        if (patience != null) {
+            config.patience = Distribution.parse(patience);
+        }
+        config.retries = Math.max(0, Integer.getInteger("cws.retries", config.retries));
+        String retryAfter = System.getProperty("cws.retryAfter");
+        if (retryAfter != null) {
+            config.retryAfter = Distribution.parse(retryAfter);
+        }
+        config.revenuePerCar = Double.parseDouble(
+                System.getProperty("cws.revenue", String.valueOf(config.revenuePerCar)));
+        String trace = System.getProperty("cws.trace");
+        if (trace != null) {
+            config.arrivalTrace = Path.of(trace);
+        }
+        String journal = System.getProperty("cws.journal");
+        if (journal != null) {
+            config.journal = Path.of(journal);
+        }
+        config.shards = Math.max(1, Integer.getInteger("cws.shards", config.shards));
+        config.routing = RoutingPolicy.Kind.valueOf(
+                System.getProperty("cws.routing", config.routing.name()).toUpperCase());
+        config.workStealing = Boolean.parseBoolean(
+                System.getProperty("cws.steal", String.valueOf(config.workStealing)));
+        return config;
+    }
+}
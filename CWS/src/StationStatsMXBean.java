@@ -0,0 +1,49 @@
+// Live view of a running station for JConsole / VisualVM. Times are milliseconds on the
+// engine's clock.
+public interface StationStatsMXBean {
+    long getCarsServed();
+
+    double getThroughputPerMinute();
+
+    long getWaitP50();
+
+    long getWaitP95();
+
+    long getWaitP99();
+
+    long getWaitMax();
+
+    long getServiceP50();
+
+    long getServiceP95();
+
+    long getServiceP99();
+
+    long getServiceMax();
+
+    long getQueueDepthP50();
+
+    long getQueueDepthP99();
+
+    long getQueueDepthMax();
+
+    double[] getPumpUtilization();
+
+    long[] getPumpCarsServed();
+
+    String[] getServiceClasses();
+
+    long[] getClassCarsServed();
+
+    long[] getClassWaitP99();
+
+    long getCarsBalked();
+
+    long getCarsReneged();
+
+    long getCarsLost();
+
+    double getAbandonmentRate();
+
+    double getLostRevenue();
+}
@@ -0,0 +1,154 @@
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// The original engine: pumps run on a fixed pool, cars are started as they arrive and
+// arrival gaps / service times are real sleeps. A controller thread generates the
+// arrivals, waits until every arrived car is serviced (or the run is cancelled) and then
+// stops the pump and car pools before completing the handle.
+class ThreadedEngine implements SimulationEngine {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    // Java 21+ only, looked up reflectively so the simulator still compiles and runs on Java 17
+    private static final Method VIRTUAL_POOL_FACTORY = virtualPoolFactory();
+    private static final AtomicBoolean warnedNoVirtualThreads = new AtomicBoolean();
+
+    // In TASK mode a dispatched car can sit in the executor queue before it reaches the
+    // waiting area. Its arrival time is already stamped, so that time counts as waiting,
+    // but the balk check (waitingArea.size()) does not see it until it gets a pool thread.
+    enum CarMode {
+        PLATFORM, // one platform thread per car (original behaviour)
+        VIRTUAL,  // one virtual thread per car; needs Java 21+, falls back to TASK
+        TASK      // cars are queued tasks on a small pool, only a few block at a time
+    }
+
+    // The mode cars really run in. VIRTUAL falls back to TASK before Java 21, which is said
+    // once per JVM on stderr so a sweep of many runs does not repeat it.
+    static CarMode effectiveCarMode(CarMode mode) {
+        if (mode != CarMode.VIRTUAL || VIRTUAL_POOL_FACTORY != null) {
+            return mode;
+        }
+        if (warnedNoVirtualThreads.compareAndSet(false, true)) {
+            System.err.println("-Dcws.cars=virtual needs Java 21+, this is Java " + Runtime.version().feature()
+                    + "; running cars as tasks instead.");
+        }
+        return CarMode.TASK;
+    }
+
+    @Override
+    public void start(ServiceStation station, int totalCars, SimulationHandle handle) {
+        start(new ServiceStation[] {station}, shards -> 0, null, totalCars, handle);
+    }
+
+    // Shared with MultiStation, which passes its shards, routing and itself for stealing
+    static void start(ServiceStation[] shards, RoutingPolicy routing, MultiStation site,
+                      int totalCars, SimulationHandle handle) {
+        CarStore cars = new CarStore(totalCars + 1); // ids start at 1
+        for (ServiceStation shard : shards) {
+            shard.setCarStore(cars);
+        }
+        Thread controller = new Thread(() -> control(shards, routing, site, totalCars, handle), "Simulation");
+        controller.start();
+    }
+
+    private static void control(ServiceStation[] shards, RoutingPolicy routing, MultiStation site,
+                                int totalCars, SimulationHandle handle) {
+        handle.setController(Thread.currentThread());
+        StationConfig config = shards[0].getConfig();
+        CarStore cars = shards[0].getCars();
+        ExecutorService pumpPool = Executors.newFixedThreadPool(shards.length * config.numPumps);
+        ExecutorService carPool = newCarPool(config.carMode);
+        Throwable failure = null;
+        try {
+            // Creating and starting Pump threads (Consumers)
+            for (int s = 0; s < shards.length; s++) {
+                for (int i = 0; i < config.numPumps; i++) {
+                    String name = site == null ? "Pump-" + (i + 1) : "S" + (s + 1) + "-Pump-" + (i + 1);
+                    pumpPool.submit(new Pump(name, i, shards[s], handle, site, s));
+                }
+            }
+
+            // Creating and starting Cars (Producers)
+            for (int i = 1; i <= totalCars && !handle.shouldStopArrivals(); i++) 
+            {
+                cars.arrive(i, shards[0].nextServiceClass(), System.currentTimeMillis());
+                Car car = new Car(i, shards[routing.route(shards)], handle);
+                handle.carArrived();
+                carPool.execute(car);
+
+                long gap = shards[0].nextArrivalGap();
+                if (gap < 0) {
+                    break; // arrival trace used up
+                }
+                try 
+                {
+                    Thread.sleep(gap);
+                } 
+                catch (InterruptedException e) 
+                {
+                    // cancel or drainThenStop; the loop condition picks it up
+                }
+            }
+            handle.closeArrivals();
+            handle.awaitDrained();
+        } catch (RuntimeException | Error e) {
+            failure = e; // e.g. an unreadable arrival trace; reported through the handle
+        } finally {
+            pumpPool.shutdownNow();
+            carPool.shutdownNow();
+            handle.detachController();
+            awaitTermination(pumpPool, "pump");
+            awaitTermination(carPool, "car");
+            if (failure == null) {
+                handle.finish(shards.length == 1 ? shards[0].getStats() : combinedStats(shards));
+            } else {
+                handle.fail(failure);
+            }
+        }
+    }
+
+    private static SimulationStats combinedStats(ServiceStation[] shards) {
+        SimulationStats[] parts = new SimulationStats[shards.length];
+        for (int s = 0; s < shards.length; s++) {
+            parts[s] = shards[s].getStats();
+        }
+        return SimulationStats.combine(parts);
+    }
+
+    private static void awaitTermination(ExecutorService pool, String kind) {
+        try {
+            if (!pool.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("Some " + kind + " threads did not stop within " + SHUTDOWN_TIMEOUT_SECONDS + " s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static ExecutorService newCarPool(CarMode mode) {
+        mode = effectiveCarMode(mode);
+        if (mode == CarMode.VIRTUAL) {
+            try {
+                return (ExecutorService) VIRTUAL_POOL_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create the virtual-thread car pool", e);
+            }
+        }
+        if (mode == CarMode.TASK) {
+            // Cars beyond the pool size wait in the executor queue as plain objects, not threads
+            return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        }
+        // A new platform thread for every car that arrives while the others are still
+        // blocked; unlike bare Thread.start() the pool can stop them all at the end
+        return Executors.newCachedThreadPool();
+    }
+
+    private static Method virtualPoolFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
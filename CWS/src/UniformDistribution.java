@@ -0,0 +1,19 @@
+import java.util.SplittableRandom;
+
+class UniformDistribution implements Distribution {
+    private final long min;
+    private final long max;
+
+    UniformDistribution(long min, long max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Uniform range must satisfy 0 <= min <= max");
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public long sample(SplittableRandom random) {
+        return (long) (random.nextDouble() * (max - min) + min);
+    }
+}
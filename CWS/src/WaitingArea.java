@@ -0,0 +1,60 @@
+import java.util.concurrent.TimeUnit;
+
+// The bounded area cars wait in until a pump takes them.
+interface WaitingArea {
+    enum Kind {
+        MONITOR, // LinkedList guarded by Mutex + two Semaphores (original implementation)
+        RING,    // preallocated CAS-sequenced ring buffer
+        PARKING, // LinkedList guarded by the spin-then-park synchronizers, optionally fair
+        PRIORITY // heap by service-class priority with aging, on the parking synchronizers
+    }
+
+    void put(Car car) throws InterruptedException;
+
+    // Like put, but gives up and returns false if no slot frees up within the timeout
+    boolean offer(Car car, long timeout, TimeUnit unit) throws InterruptedException;
+
+    Car take() throws InterruptedException;
+
+    // Blocks until at least one car is waiting, then removes up to max cars into
+    // buffer[0..] in one go. Returns how many were taken.
+    int takeBatch(Car[] buffer, int max) throws InterruptedException;
+
+    // Like takeBatch, but fills buffer[offset..] and gives up and returns 0 if no car
+    // arrives within the timeout
+    int pollBatch(Car[] buffer, int offset, int max, long timeout, TimeUnit unit) throws InterruptedException;
+
+    // Removes up to max cars that are waiting right now into buffer[offset..] without
+    // blocking for new arrivals. Returns how many were taken, possibly 0.
+    int drainTo(Car[] buffer, int offset, int max);
+
+    int size();
+
+    int capacity();
+
+    static WaitingArea create(StationConfig config) {
+        return create(config, null);
+    }
+
+    // Only the MONITOR area is built on Mutex and Semaphore, so only it reports to a profiler
+    static WaitingArea create(StationConfig config, LockProfiler profiler) {
+        return create(config.waitingArea, config, profiler);
+    }
+
+    // kind overrides config.waitingArea, for a station that cannot use the configured one
+    static WaitingArea create(Kind kind, StationConfig config, LockProfiler profiler) {
+        int capacity = config.slotSize;
+        boolean fair = config.fairWaiting;
+        switch (kind) {
+            case PRIORITY:
+                return new PriorityWaitingArea(capacity, fair, config.serviceClasses(), config.agingMs);
+            case RING:
+                return new RingBufferWaitingArea(capacity);
+            case PARKING:
+                return new ParkingWaitingArea(capacity, fair);
+            case MONITOR:
+            default:
+                return new MonitorWaitingArea(capacity, profiler);
+        }
+    }
+}
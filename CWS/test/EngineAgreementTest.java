@@ -0,0 +1,54 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+// The threaded engine runs on the wall clock and the discrete-event engine on a virtual
+// one, so their numbers never match exactly. With constant timings they must still agree
+// within scheduling noise.
+public class EngineAgreementTest {
+    // Threads wake a little late; this bounds how late, in ms
+    private static final long SLACK = 15;
+
+    private static SimulationStats run(SimulationEngine.Kind engine, int pumps, String arrivals, String service, int cars) {
+        StationConfig config = new StationConfig(3, pumps);
+        config.engine = engine;
+        config.verbose = false;
+        config.logMode = EventLog.Mode.OFF;
+        config.seed = 42;
+        config.arrivalGaps = Distribution.parse(arrivals);
+        config.serviceTimes = Distribution.parse(service);
+        return new ServiceStation(config).start(cars).completion().join();
+    }
+
+    // Cars arrive well apart, so nobody waits and every service takes exactly its time
+    @Test
+    public void uncontendedRunsAgreeOnWaitAndServiceTimes() {
+        SimulationStats discrete = run(SimulationEngine.Kind.DISCRETE_EVENT, 1, "constant:20", "constant:5", 40);
+        SimulationStats threaded = run(SimulationEngine.Kind.THREADED, 1, "constant:20", "constant:5", 40);
+
+        assertEquals(40, discrete.getCarsServed());
+        assertEquals(40, threaded.getCarsServed());
+        assertEquals(0, discrete.getWaitMax());
+        assertTrue("threaded wait p50 " + threaded.getWaitP50(), threaded.getWaitP50() <= SLACK);
+        assertEquals(5, discrete.getServiceP99());
+        long threadedService = threaded.getServiceP99();
+        assertTrue("threaded service p99 " + threadedService, threadedService >= 5 && threadedService <= 5 + SLACK);
+    }
+
+    // Arrivals outpace two pumps, so the waiting area stays full and the pumps share the
+    // work about evenly in both engines
+    @Test
+    public void saturatedRunsAgreeOnQueueDepthAndPumpShare() {
+        SimulationStats discrete = run(SimulationEngine.Kind.DISCRETE_EVENT, 2, "constant:1", "constant:10", 100);
+        SimulationStats threaded = run(SimulationEngine.Kind.THREADED, 2, "constant:1", "constant:10", 100);
+
+        for (SimulationStats stats : new SimulationStats[] {discrete, threaded}) {
+            assertEquals(100, stats.getCarsServed());
+            assertEquals(3, stats.getQueueDepthMax());
+            for (long served : stats.getPumpCarsServed()) {
+                assertTrue("pump served " + served + " of 100", served >= 35 && served <= 65);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+// Records discrete-event runs into a journal and checks that replaying it rebuilds the
+// same statistics as the live run
+public class JournalReplayTest {
+    private Path journal;
+
+    @Before
+    public void createJournal() throws Exception {
+        journal = Files.createTempFile("cws-journal", ".bin");
+    }
+
+    @After
+    public void deleteJournal() throws Exception {
+        Files.deleteIfExists(journal);
+    }
+
+    private StationConfig config(int slots, int pumps) {
+        StationConfig config = new StationConfig(slots, pumps);
+        config.engine = SimulationEngine.Kind.DISCRETE_EVENT;
+        config.logMode = EventLog.Mode.OFF;
+        config.verbose = false;
+        config.seed = 42;
+        config.arrivalGaps = Distribution.parse("exp:700");
+        config.classes = ServiceClass.parseAll(
+                "express:2:0.3:uniform:300:800;standard:1:0.5:uniform:1000:3000;premium:0:0.2:lognormal:2000:800");
+        config.journal = journal;
+        return config;
+    }
+
+    @Test
+    public void replayMatchesTheLiveRunPerClass() throws Exception {
+        StationConfig config = config(5, 2);
+        SimulationStats live = new ServiceStation(config).start(5000).completion().join();
+        SimulationStats replayed = JournalReplay.replay(journal, null);
+
+        assertEquals(5000, live.getCarsServed());
+        assertSameStats(live, replayed);
+    }
+
+    @Test
+    public void replayMatchesTheLiveRunWithPriorityAndImpatientCars() throws Exception {
+        StationConfig config = config(3, 2);
+        config.waitingArea = WaitingArea.Kind.PRIORITY;
+        config.agingMs = 500;
+        config.balkAt = 3;
+        config.patience = Distribution.parse("exp:2000");
+        config.retries = 1;
+        config.retryAfter = Distribution.parse("constant:5000");
+        SimulationStats live = new ServiceStation(config).start(5000).completion().join();
+        SimulationStats replayed = JournalReplay.replay(journal, null);
+
+        assertTrue("nobody gave up", live.getCarsBalked() + live.getCarsReneged() > 0);
+        assertSameStats(live, replayed);
+        assertEquals(live.getCarsBalked(), replayed.getCarsBalked());
+        assertEquals(live.getCarsReneged(), replayed.getCarsReneged());
+        assertEquals(live.getCarsLost(), replayed.getCarsLost());
+    }
+
+    private static void assertSameStats(SimulationStats live, SimulationStats replayed) {
+        assertEquals(live.getCarsServed(), replayed.getCarsServed());
+        assertEquals(live.getWaitP50(), replayed.getWaitP50());
+        assertEquals(live.getWaitP95(), replayed.getWaitP95());
+        assertEquals(live.getWaitP99(), replayed.getWaitP99());
+        assertEquals(live.getWaitMax(), replayed.getWaitMax());
+        assertEquals(live.getAverageWait(), replayed.getAverageWait(), 1e-9);
+        assertEquals(live.getServiceP99(), replayed.getServiceP99());
+        assertEquals(live.getQueueDepthP99(), replayed.getQueueDepthP99());
+        assertEquals(live.getQueueDepthMax(), replayed.getQueueDepthMax());
+        assertArrayEquals(live.getPumpCarsServed(), replayed.getPumpCarsServed());
+        assertArrayEquals(live.getClassCarsServed(), replayed.getClassCarsServed());
+        assertArrayEquals(live.getClassWaitP99(), replayed.getClassWaitP99());
+    }
+}
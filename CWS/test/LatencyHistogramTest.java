@@ -0,0 +1,85 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void valuesBelowSixteenAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 16; value++) {
+            histogram.record(value);
+        }
+        assertEquals(16, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0));
+        assertEquals(7, histogram.getPercentile(50));
+        assertEquals(15, histogram.getPercentile(100));
+        assertEquals(7.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void everyValueFallsInsideItsBucket() {
+        for (int bits = 0; bits < 63; bits++) {
+            for (long value : new long[] {1L << bits, (1L << bits) + 1, (1L << bits) + (1L << bits) / 2, (2L << bits) - 1}) {
+                int index = LatencyHistogram.indexOf(value);
+                assertTrue(value + " below its bucket", LatencyHistogram.lowerBound(index) <= value);
+                assertTrue(value + " above its bucket", value <= LatencyHistogram.upperBound(index));
+            }
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    // The reported percentile is the bucket's upper edge: never below the true value and
+    // at most one sub-bucket (1/16) above it
+    @Test
+    public void percentilesStayWithinOneSubBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = (long) Math.ceil(percentile / 100 * 100000);
+            long reported = histogram.getPercentile(percentile);
+            assertTrue(percentile + ": " + reported, reported >= exact);
+            assertTrue(percentile + ": " + reported, reported <= exact + exact / 16);
+        }
+        assertEquals(100000, histogram.getPercentile(100));
+        assertEquals(100000, histogram.getMax());
+    }
+
+    @Test
+    public void addMergesCountsSumAndMax() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        a.record(-5); // clamped to 0
+        b.record(1000);
+        a.add(b);
+        assertEquals(3, a.getCount());
+        assertEquals(1000, a.getMax());
+        assertEquals(1010 / 3.0, a.getMean(), 1e-9);
+        assertEquals(0, a.getPercentile(1));
+        assertEquals(1000, a.getPercentile(100));
+        assertEquals(1, b.getCount());
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    histogram.record(i % 500);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(400000, histogram.getCount());
+        assertEquals(499, histogram.getMax());
+    }
+}
@@ -0,0 +1,142 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class ParkingSemaphoreTest {
+
+    @Test
+    public void releaseHandsThePermitToABlockedAcquirer() throws Exception {
+        ParkingSemaphore semaphore = new ParkingSemaphore(0);
+        Thread waiter = acquirer(semaphore, null, null);
+        waiter.start();
+        awaitQueueLength(semaphore, 1);
+        semaphore.release();
+        waiter.join(5000);
+        assertFalse(waiter.isAlive());
+        assertEquals(0, semaphore.availablePermits());
+        assertEquals(0, semaphore.getQueueLength());
+    }
+
+    @Test
+    public void fairModeServesWaitersInArrivalOrder() throws Exception {
+        ParkingSemaphore semaphore = new ParkingSemaphore(0, true);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        Thread[] waiters = new Thread[3];
+        for (int i = 0; i < waiters.length; i++) {
+            int id = i;
+            waiters[i] = acquirer(semaphore, () -> order.add(id), null);
+            waiters[i].start();
+            awaitQueueLength(semaphore, i + 1);
+        }
+        // A newcomer must not take the permit ahead of the queue
+        assertFalse(semaphore.tryAcquire());
+        for (int i = 0; i < waiters.length; i++) {
+            semaphore.release();
+            waiters[i].join(5000);
+            assertFalse(waiters[i].isAlive());
+        }
+        assertEquals(Arrays.asList(0, 1, 2), order);
+    }
+
+    @Test
+    public void interruptedAcquirerLeavesWithoutAPermitAndTheNextWaiterGetsTheRelease() throws Exception {
+        ParkingSemaphore semaphore = new ParkingSemaphore(0, true);
+        AtomicBoolean firstInterrupted = new AtomicBoolean();
+        AtomicBoolean secondAcquired = new AtomicBoolean();
+        Thread first = acquirer(semaphore, null, firstInterrupted);
+        Thread second = acquirer(semaphore, () -> secondAcquired.set(true), null);
+        first.start();
+        awaitQueueLength(semaphore, 1);
+        second.start();
+        awaitQueueLength(semaphore, 2);
+
+        first.interrupt();
+        first.join(5000);
+        assertFalse(first.isAlive());
+        assertTrue(firstInterrupted.get());
+        assertEquals(1, semaphore.getQueueLength());
+        assertEquals(0, semaphore.availablePermits());
+
+        semaphore.release();
+        second.join(5000);
+        assertFalse(second.isAlive());
+        assertTrue(secondAcquired.get());
+        assertEquals(0, semaphore.availablePermits());
+    }
+
+    @Test
+    public void acquireThrowsForAnAlreadyInterruptedThreadEvenWithPermitsFree() {
+        ParkingSemaphore semaphore = new ParkingSemaphore(1);
+        Thread.currentThread().interrupt();
+        try {
+            semaphore.acquire();
+            throw new AssertionError("acquire did not throw");
+        } catch (InterruptedException expected) {
+            // the flag is consumed by the exception
+        }
+        assertFalse(Thread.currentThread().isInterrupted());
+        assertEquals(1, semaphore.availablePermits());
+    }
+
+    @Test
+    public void uninterruptibleAcquireKeepsWaitingAndRestoresTheInterrupt() throws Exception {
+        ParkingSemaphore semaphore = new ParkingSemaphore(0);
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            semaphore.acquireUninterruptibly();
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        waiter.start();
+        awaitQueueLength(semaphore, 1);
+        waiter.interrupt();
+        Thread.sleep(20);
+        assertTrue(waiter.isAlive());
+        semaphore.release();
+        waiter.join(5000);
+        assertFalse(waiter.isAlive());
+        assertTrue(stillInterrupted.get());
+    }
+
+    @Test
+    public void timedTryAcquireGivesUpAndLeavesTheQueue() throws Exception {
+        ParkingSemaphore semaphore = new ParkingSemaphore(0);
+        long start = System.nanoTime();
+        assertFalse(semaphore.tryAcquire(20, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(0, semaphore.getQueueLength());
+        semaphore.release();
+        assertTrue(semaphore.tryAcquire(20, TimeUnit.MILLISECONDS));
+    }
+
+    // Calls onAcquire after acquire returns, or sets interrupted if it throws
+    private static Thread acquirer(ParkingSemaphore semaphore, Runnable onAcquire, AtomicBoolean interrupted) {
+        return new Thread(() -> {
+            try {
+                semaphore.acquire();
+                if (onAcquire != null) {
+                    onAcquire.run();
+                }
+            } catch (InterruptedException e) {
+                if (interrupted != null) {
+                    interrupted.set(true);
+                }
+            }
+        });
+    }
+
+    private static void awaitQueueLength(ParkingSemaphore semaphore, int length) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (semaphore.getQueueLength() < length) {
+            assertTrue("waiters never queued", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PriorityWaitingAreaTest {
+    private static final int LOW = 0;
+    private static final int HIGH = 1;
+
+    private ServiceStation station;
+    private ServiceClass[] classes;
+
+    // Cars read their class from the station's CarStore, so give them one to read
+    @Before
+    public void createStation() {
+        StationConfig config = new StationConfig(8, 1);
+        config.verbose = false;
+        config.logMode = EventLog.Mode.OFF;
+        station = new ServiceStation(config);
+        station.setCarStore(new CarStore(16));
+        classes = ServiceClass.parseAll("low:0:0.5:constant:1;high:2:0.5:constant:1");
+    }
+
+    private Car car(int id, int serviceClass) {
+        station.getCars().arrive(id, serviceClass, 0);
+        return new Car(id, station, null);
+    }
+
+    @Test
+    public void higherPriorityLeavesFirstAndEqualsKeepArrivalOrder() throws Exception {
+        PriorityWaitingArea area = new PriorityWaitingArea(8, false, classes, 60000);
+        Car low1 = car(1, LOW);
+        Car low2 = car(2, LOW);
+        Car high3 = car(3, HIGH);
+        Car high4 = car(4, HIGH);
+        area.put(low1);
+        area.put(low2);
+        area.put(high3);
+        area.put(high4);
+
+        Car[] buffer = new Car[8];
+        assertEquals(4, area.drainTo(buffer, 0, 8));
+        assertSame(high3, buffer[0]);
+        assertSame(high4, buffer[1]);
+        assertSame(low1, buffer[2]);
+        assertSame(low2, buffer[3]);
+        assertEquals(0, area.size());
+    }
+
+    // high is two levels up; at 20ms a level, a low car that has waited well over 40ms
+    // must go ahead of a high car that just arrived
+    @Test
+    public void agingLetsALongWaitingLowCarOvertake() throws Exception {
+        PriorityWaitingArea area = new PriorityWaitingArea(8, false, classes, 20);
+        Car low = car(1, LOW);
+        Car high = car(2, HIGH);
+        area.put(low);
+        Thread.sleep(150);
+        area.put(high);
+
+        assertSame(low, area.take());
+        assertSame(high, area.take());
+    }
+
+    @Test
+    public void heapOrderSurvivesManyMixedCars() throws Exception {
+        PriorityWaitingArea area = new PriorityWaitingArea(16, false, classes, 60000);
+        for (int id = 1; id <= 15; id++) {
+            area.put(car(id, id % 3 == 0 ? HIGH : LOW));
+        }
+        int[] expected = {3, 6, 9, 12, 15, 1, 2, 4, 5, 7, 8, 10, 11, 13, 14};
+        for (int id : expected) {
+            assertEquals(id, area.take().getId());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class RingBufferWaitingAreaTest {
+
+    private static Car[] cars(int count) {
+        Car[] cars = new Car[count];
+        for (int i = 0; i < count; i++) {
+            cars[i] = new Car(i + 1, null, null);
+        }
+        return cars;
+    }
+
+    // A capacity of 3 makes the positions wrap on every third car, so this runs many laps
+    @Test
+    public void keepsFifoOrderAcrossWraparound() {
+        RingBufferWaitingArea area = new RingBufferWaitingArea(3);
+        Car[] cars = cars(2000);
+        for (int i = 0; i < cars.length; i += 2) {
+            assertTrue(area.offer(cars[i]));
+            assertTrue(area.offer(cars[i + 1]));
+            assertSame(cars[i], area.poll());
+            assertEquals(1, area.size());
+            assertSame(cars[i + 1], area.poll());
+        }
+        assertNull(area.poll());
+        assertEquals(0, area.size());
+    }
+
+    @Test
+    public void offerFailsWhenFullAndSucceedsOnceASlotFrees() {
+        for (int capacity = 1; capacity <= 3; capacity++) {
+            RingBufferWaitingArea area = new RingBufferWaitingArea(capacity);
+            Car[] cars = cars(10 * capacity + 1);
+            for (int lap = 0; lap < 10; lap++) {
+                for (int i = 0; i < capacity; i++) {
+                    assertTrue(area.offer(cars[lap * capacity + i]));
+                }
+                assertFalse(area.offer(cars[cars.length - 1]));
+                assertEquals(capacity, area.size());
+                for (int i = 0; i < capacity; i++) {
+                    assertSame(cars[lap * capacity + i], area.poll());
+                }
+                assertNull(area.poll());
+            }
+        }
+    }
+
+    @Test
+    public void drainToCopiesAcrossTheWrap() {
+        RingBufferWaitingArea area = new RingBufferWaitingArea(4);
+        Car[] cars = cars(7);
+        for (int i = 0; i < 3; i++) {
+            area.offer(cars[i]);
+            area.poll();
+        }
+        // The next four cars occupy slots 3, 0, 1 and 2
+        for (int i = 3; i < 7; i++) {
+            assertTrue(area.offer(cars[i]));
+        }
+        Car[] buffer = new Car[8];
+        assertEquals(4, area.drainTo(buffer, 1, 8));
+        assertNull(buffer[0]);
+        for (int i = 0; i < 4; i++) {
+            assertSame(cars[3 + i], buffer[1 + i]);
+        }
+        assertEquals(0, area.size());
+        assertEquals(0, area.drainTo(buffer, 0, 8));
+    }
+
+    @Test
+    public void blockedPutProceedsWhenACarIsTaken() throws Exception {
+        RingBufferWaitingArea area = new RingBufferWaitingArea(1);
+        Car[] cars = cars(2);
+        area.put(cars[0]);
+        Thread producer = new Thread(() -> {
+            try {
+                area.put(cars[1]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        awaitParked(producer);
+        assertEquals(1, area.size());
+        assertSame(cars[0], area.take());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertSame(cars[1], area.take());
+    }
+
+    @Test
+    public void timedOfferGivesUpOnAFullArea() throws Exception {
+        RingBufferWaitingArea area = new RingBufferWaitingArea(1);
+        Car[] cars = cars(2);
+        area.put(cars[0]);
+        assertFalse(area.offer(cars[1], 20, TimeUnit.MILLISECONDS));
+        assertEquals(1, area.size());
+    }
+
+    @Test
+    public void pollBatchGivesUpOnAnEmptyAreaAndWakesForAnArrival() throws Exception {
+        RingBufferWaitingArea area = new RingBufferWaitingArea(4);
+        Car[] cars = cars(1);
+        Car[] buffer = new Car[4];
+        assertEquals(0, area.pollBatch(buffer, 0, 4, 20, TimeUnit.MILLISECONDS));
+
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                area.put(cars[0]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertEquals(1, area.pollBatch(buffer, 2, 2, 5, TimeUnit.SECONDS));
+        assertSame(cars[0], buffer[2]);
+        producer.join(5000);
+    }
+
+    // Producers and consumers contend on a small buffer; every car must come out exactly once
+    @Test
+    public void concurrentProducersAndConsumersSeeEveryCarOnce() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20000;
+        int perConsumer = producers * perProducer / consumers;
+        RingBufferWaitingArea area = new RingBufferWaitingArea(8);
+        Car[] cars = cars(producers * perProducer);
+        Set<Car> seen = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        List<String> duplicates = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        area.put(cars[base + i]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            threads.add(new Thread(() -> {
+                try {
+                    Car[] batch = new Car[4];
+                    for (int taken = 0; taken < perConsumer; ) {
+                        int n = area.takeBatch(batch, Math.min(batch.length, perConsumer - taken));
+                        for (int i = 0; i < n; i++) {
+                            if (!seen.add(batch[i])) {
+                                duplicates.add(batch[i].getName());
+                            }
+                        }
+                        taken += n;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(30000);
+            assertFalse("stuck: " + thread.getName(), thread.isAlive());
+        }
+        assertEquals("taken twice", Collections.emptyList(), duplicates);
+        assertEquals(cars.length, seen.size());
+        assertEquals(0, area.size());
+    }
+
+    static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue("thread never parked", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+}
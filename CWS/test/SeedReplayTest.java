@@ -0,0 +1,58 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Test;
+
+// The discrete-event engine must turn the same seed and config into the same event sequence
+public class SeedReplayTest {
+    private final Path[] journals = new Path[3];
+
+    @After
+    public void deleteJournals() throws Exception {
+        for (Path journal : journals) {
+            if (journal != null) {
+                Files.deleteIfExists(journal);
+            }
+        }
+    }
+
+    private SimulationStats run(int index, long seed) throws Exception {
+        journals[index] = Files.createTempFile("cws-seed", ".bin");
+        StationConfig config = new StationConfig(4, 3);
+        config.engine = SimulationEngine.Kind.DISCRETE_EVENT;
+        config.logMode = EventLog.Mode.OFF;
+        config.verbose = false;
+        config.seed = seed;
+        config.arrivalGaps = Distribution.parse("exp:400");
+        config.classes = ServiceClass.parseAll("fast:1:0.4:uniform:200:900;slow:0:0.6:lognormal:1500:600");
+        config.patience = Distribution.parse("exp:3000");
+        config.journal = journals[index];
+        return new ServiceStation(config).start(3000).completion().join();
+    }
+
+    @Test
+    public void sameSeedRecordsTheSameJournalAndStats() throws Exception {
+        SimulationStats first = run(0, 7);
+        SimulationStats second = run(1, 7);
+
+        assertArrayEquals(Files.readAllBytes(journals[0]), Files.readAllBytes(journals[1]));
+        assertEquals(first.getCarsServed(), second.getCarsServed());
+        assertEquals(first.getCarsReneged(), second.getCarsReneged());
+        assertEquals(first.getWaitP99(), second.getWaitP99());
+        assertEquals(first.getAverageWait(), second.getAverageWait(), 0);
+        assertArrayEquals(first.getPumpCarsServed(), second.getPumpCarsServed());
+    }
+
+    @Test
+    public void anotherSeedRecordsAnotherJournal() throws Exception {
+        run(0, 7);
+        run(2, 8);
+        assertFalse(Arrays.equals(Files.readAllBytes(journals[0]), Files.readAllBytes(journals[2])));
+    }
+}
@@ -0,0 +1,39 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+// CHAIN routing fills the first shard before any other, so the other shards' pumps only
+// get much work if they steal it
+public class WorkStealingTest {
+
+    private StationConfig config(boolean workStealing) {
+        StationConfig config = new StationConfig(4, 2);
+        config.verbose = false;
+        config.logMode = EventLog.Mode.OFF;
+        config.shards = 3;
+        config.routing = RoutingPolicy.Kind.CHAIN;
+        config.workStealing = workStealing;
+        config.batchSize = 2;
+        config.batchLingerMs = 1;
+        config.arrivalGaps = Distribution.parse("constant:1");
+        config.serviceTimes = Distribution.parse("constant:3");
+        return config;
+    }
+
+    @Test
+    public void idlePumpsStealFromABusyShardAndEveryCarIsServedOnce() {
+        MultiStation site = new MultiStation(config(true));
+        SimulationStats stats = site.start(300).completion().join();
+        assertEquals(300, stats.getCarsServed());
+        assertTrue("nothing stolen", site.getCarsStolen() > 0);
+    }
+
+    @Test
+    public void withoutStealingPumpsStayOnTheirShard() {
+        MultiStation site = new MultiStation(config(false));
+        SimulationStats stats = site.start(300).completion().join();
+        assertEquals(300, stats.getCarsServed());
+        assertEquals(0, site.getCarsStolen());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.bench;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lock-free reference point: permits live in an AtomicInteger and waiters spin,
+// then yield, instead of blocking in the kernel.
+final class CasSemaphore {
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 100 : 0;
+
+    private final AtomicInteger permits;
+
+    CasSemaphore(int permits) {
+        this.permits = new AtomicInteger(permits);
+    }
+
+    void acquire() {
+        for (int spins = 0; ; spins++) {
+            int available = permits.get();
+            if (available > 0 && permits.compareAndSet(available, available - 1)) {
+                return;
+            }
+            if (spins < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    void release() {
+        permits.incrementAndGet();
+    }
+}
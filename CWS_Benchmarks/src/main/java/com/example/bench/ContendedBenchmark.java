@@ -0,0 +1,112 @@
+package com.example.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// All benchmark threads fight over one primitive guarding a short critical section,
+// like the cars and pumps around carMutex. Run through ContentionSweep to cover 2..64
+// threads, or pass -t to the JMH launcher directly.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContendedBenchmark {
+    // Roughly the work done while carMutex is held (list add/remove plus bookkeeping)
+    @Param("20")
+    public int criticalSectionTokens;
+
+    private Object cwsSemaphore;
+    private Object cwsMutex;
+    private Object parkingSemaphore;
+    private Object parkingFairSemaphore;
+    private java.util.concurrent.Semaphore jucSemaphore;
+    private java.util.concurrent.Semaphore jucFairSemaphore;
+    private ReentrantLock reentrantLock;
+    private CasSemaphore casSemaphore;
+
+    @Setup
+    public void setup() throws Throwable {
+        cwsSemaphore = UncontendedBenchmark.SEMAPHORE_NEW.invoke(1);
+        cwsMutex = UncontendedBenchmark.MUTEX_NEW.invoke();
+        parkingSemaphore = UncontendedBenchmark.PARKING_NEW.invoke(1, false);
+        parkingFairSemaphore = UncontendedBenchmark.PARKING_NEW.invoke(1, true);
+        jucSemaphore = new java.util.concurrent.Semaphore(1);
+        jucFairSemaphore = new java.util.concurrent.Semaphore(1, true);
+        reentrantLock = new ReentrantLock();
+        casSemaphore = new CasSemaphore(1);
+    }
+
+    @Benchmark
+    public void cwsSemaphore() throws Throwable {
+        UncontendedBenchmark.SEMAPHORE_ACQUIRE.invoke(cwsSemaphore);
+        Blackhole.consumeCPU(criticalSectionTokens);
+        UncontendedBenchmark.SEMAPHORE_RELEASE.invoke(cwsSemaphore);
+    }
+
+    @Benchmark
+    public void cwsMutex() throws Throwable {
+        UncontendedBenchmark.MUTEX_ACQUIRE.invoke(cwsMutex);
+        Blackhole.consumeCPU(criticalSectionTokens);
+        UncontendedBenchmark.MUTEX_RELEASE.invoke(cwsMutex);
+    }
+
+    @Benchmark
+    public void parkingSemaphore() throws Throwable {
+        UncontendedBenchmark.PARKING_ACQUIRE.invoke(parkingSemaphore);
+        Blackhole.consumeCPU(criticalSectionTokens);
+        UncontendedBenchmark.PARKING_RELEASE.invoke(parkingSemaphore);
+    }
+
+    @Benchmark
+    public void parkingFairSemaphore() throws Throwable {
+        UncontendedBenchmark.PARKING_ACQUIRE.invoke(parkingFairSemaphore);
+        Blackhole.consumeCPU(criticalSectionTokens);
+        UncontendedBenchmark.PARKING_RELEASE.invoke(parkingFairSemaphore);
+    }
+
+    @Benchmark
+    public void jucSemaphore() throws InterruptedException {
+        jucSemaphore.acquire();
+        Blackhole.consumeCPU(criticalSectionTokens);
+        jucSemaphore.release();
+    }
+
+    @Benchmark
+    public void jucFairSemaphore() throws InterruptedException {
+        jucFairSemaphore.acquire();
+        Blackhole.consumeCPU(criticalSectionTokens);
+        jucFairSemaphore.release();
+    }
+
+    @Benchmark
+    public void reentrantLock() {
+        reentrantLock.lock();
+        try {
+            Blackhole.consumeCPU(criticalSectionTokens);
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    @Benchmark
+    public void casSemaphore() {
+        casSemaphore.acquire();
+        Blackhole.consumeCPU(criticalSectionTokens);
+        casSemaphore.release();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.bench;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs ContendedBenchmark once per thread count, since JMH fixes the thread count per run:
+//   java -cp target/benchmarks.jar com.example.bench.ContentionSweep [threads...]
+public class ContentionSweep {
+    private static final int[] DEFAULT_THREADS = {2, 4, 8, 16, 32, 64};
+
+    public static void main(String[] args) throws RunnerException {
+        int[] threadCounts = DEFAULT_THREADS;
+        if (args.length > 0) {
+            threadCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                threadCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(ContendedBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .output("contended-" + threads + "t.txt")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
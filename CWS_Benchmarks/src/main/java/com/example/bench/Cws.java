@@ -0,0 +1,60 @@
+package com.example.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+// The console simulator lives in the default package, which JMH cannot generate code for
+// and named packages cannot import, so the benchmarks reach its classes through method
+// handles. Handles are stored in static finals, which the JIT inlines like a direct call.
+final class Cws {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Cws() {
+    }
+
+    static Class<?> type(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Simulator class " + name + " is not on the classpath", e);
+        }
+    }
+
+    static MethodHandle constructor(String className, Class<?>... params) {
+        try {
+            Constructor<?> constructor = type(className).getDeclaredConstructor(params);
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static MethodHandle method(String className, String name, Class<?>... params) {
+        try {
+            Method method = type(className).getDeclaredMethod(name, params);
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Object enumValue(String enumClassName, String constant) {
+        return Enum.valueOf((Class) type(enumClassName), constant);
+    }
+}
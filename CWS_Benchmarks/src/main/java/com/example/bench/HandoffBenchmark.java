@@ -0,0 +1,173 @@
+package com.example.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Full producer/consumer handoff through ServiceStation.enterQueue / takeCar. Each
+// invocation pushes CARS cars from the producer threads to the pump threads and waits
+// until all of them were taken, so no thread is ever left blocked between iterations.
+// Console output goes to a discarding stream; logMode decides how much of the logging
+// cost stays on the station's threads.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@OperationsPerInvocation(HandoffBenchmark.CARS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HandoffBenchmark {
+    static final int CARS = 10_000;
+
+    private static final MethodHandle CONFIG_NEW = Cws.constructor("StationConfig", int.class, int.class);
+    private static final MethodHandle STATION_NEW = Cws.constructor("ServiceStation", Cws.type("StationConfig"));
+    private static final MethodHandle CAR_NEW = Cws.constructor("Car", int.class, Cws.type("ServiceStation"), Cws.type("SimulationHandle"));
+    private static final MethodHandle HANDLE_NEW = Cws.constructor("SimulationHandle", int.class);
+    private static final MethodHandle CAR_STORE_NEW = Cws.constructor("CarStore", int.class);
+    private static final MethodHandle SET_CAR_STORE = Cws.method("ServiceStation", "setCarStore", Cws.type("CarStore"));
+    private static final MethodHandle ENTER_QUEUE = Cws.method("ServiceStation", "enterQueue", Cws.type("Car"));
+    private static final MethodHandle GET_LOG = Cws.method("ServiceStation", "getLog");
+    private static final MethodHandle CLOSE_LOG = Cws.method("EventLog", "close");
+    private static final MethodHandle TAKE_CAR = Cws.method("ServiceStation", "takeCar", int.class);
+    private static final MethodHandle TAKE_CARS = Cws.method("ServiceStation", "takeCars",
+            int.class, Cws.type("[LCar;"), int.class, long.class);
+
+    @Param({"MONITOR", "RING", "PARKING", "PRIORITY"})
+    public String waitingArea;
+
+    @Param({"5"})
+    public int slots;
+
+    @Param({"1", "4"})
+    public int producers;
+
+    @Param({"1", "4"})
+    public int pumps;
+
+    // Cars each pump takes per critical section; 1 uses the single-car takeCar path
+    @Param({"1", "8"})
+    public int batch;
+
+    // SYNC is the original println-per-event behaviour
+    @Param({"SYNC", "ASYNC", "OFF"})
+    public String logMode;
+
+    private Object station;
+    private Object[] cars;
+    private ExecutorService threads;
+    private PrintStream console;
+
+    @Setup(Level.Trial)
+    public void setup() throws Throwable {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        Object config = CONFIG_NEW.invoke(slots, pumps);
+        Cws.setField(config, "waitingArea", Cws.enumValue("WaitingArea$Kind", waitingArea));
+        Cws.setField(config, "logMode", Cws.enumValue("EventLog$Mode", logMode));
+        station = STATION_NEW.invoke(config);
+
+        SET_CAR_STORE.invoke(station, CAR_STORE_NEW.invoke(CARS + 1));
+        Object handle = HANDLE_NEW.invoke(CARS);
+        cars = new Object[CARS];
+        for (int i = 0; i < CARS; i++) {
+            cars[i] = CAR_NEW.invoke(i + 1, station, handle);
+        }
+        threads = Executors.newFixedThreadPool(producers + pumps);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        threads.shutdownNow();
+        CLOSE_LOG.invoke(GET_LOG.invoke(station)); // stops the ASYNC writer thread
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public void handoff() throws Exception {
+        List<Future<?>> workers = new ArrayList<>(producers + pumps);
+        for (int p = 0; p < producers; p++) {
+            int first = p;
+            workers.add(threads.submit(() -> {
+                for (int i = first; i < CARS; i += producers) {
+                    enterQueue(cars[i]);
+                }
+                return null;
+            }));
+        }
+        for (int c = 0; c < pumps; c++) {
+            int quota = CARS / pumps + (c < CARS % pumps ? 1 : 0);
+            workers.add(threads.submit(() -> {
+                if (batch == 1) {
+                    for (int i = 0; i < quota; i++) {
+                        takeCar();
+                    }
+                } else {
+                    // Never ask for more than this pump's remaining quota, or another pump
+                    // would be left waiting for cars that are already gone
+                    Object buffer = Array.newInstance(Cws.type("Car"), batch);
+                    for (int taken = 0; taken < quota; ) {
+                        taken += takeCars(buffer, Math.min(batch, quota - taken));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    // Callables may only throw Exception, method handles throw Throwable
+    private void enterQueue(Object car) throws Exception {
+        try {
+            ENTER_QUEUE.invoke(station, car);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private int takeCars(Object buffer, int max) throws Exception {
+        try {
+            return (int) TAKE_CARS.invoke(station, 0, buffer, max, 0L);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private void takeCar() throws Exception {
+        try {
+            TAKE_CAR.invoke(station, 0);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Single-threaded acquire/release round trips: the fixed cost every car and pump pays
+// even when nobody else wants the primitive.
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UncontendedBenchmark {
+    static final MethodHandle SEMAPHORE_NEW = Cws.constructor("Semaphore", int.class);
+    static final MethodHandle SEMAPHORE_ACQUIRE = Cws.method("Semaphore", "acquire");
+    static final MethodHandle SEMAPHORE_RELEASE = Cws.method("Semaphore", "release");
+    static final MethodHandle MUTEX_NEW = Cws.constructor("Mutex");
+    static final MethodHandle MUTEX_ACQUIRE = Cws.method("Mutex", "acquire");
+    static final MethodHandle MUTEX_RELEASE = Cws.method("Mutex", "release");
+    static final MethodHandle PARKING_NEW = Cws.constructor("ParkingSemaphore", int.class, boolean.class);
+    static final MethodHandle PARKING_ACQUIRE = Cws.method("ParkingSemaphore", "acquire");
+    static final MethodHandle PARKING_RELEASE = Cws.method("ParkingSemaphore", "release");
+
+    private Object cwsSemaphore;
+    private Object cwsMutex;
+    private Object parkingSemaphore;
+    private java.util.concurrent.Semaphore jucSemaphore;
+    private ReentrantLock reentrantLock;
+    private CasSemaphore casSemaphore;
+
+    @Setup
+    public void setup() throws Throwable {
+        cwsSemaphore = SEMAPHORE_NEW.invoke(1);
+        cwsMutex = MUTEX_NEW.invoke();
+        parkingSemaphore = PARKING_NEW.invoke(1, false);
+        jucSemaphore = new java.util.concurrent.Semaphore(1);
+        reentrantLock = new ReentrantLock();
+        casSemaphore = new CasSemaphore(1);
+    }
+
+    @Benchmark
+    public void cwsSemaphore() throws Throwable {
+        SEMAPHORE_ACQUIRE.invoke(cwsSemaphore);
+        SEMAPHORE_RELEASE.invoke(cwsSemaphore);
+    }
+
+    @Benchmark
+    public void cwsMutex() throws Throwable {
+        MUTEX_ACQUIRE.invoke(cwsMutex);
+        MUTEX_RELEASE.invoke(cwsMutex);
+    }
+
+    @Benchmark
+    public void parkingSemaphore() throws Throwable {
+        PARKING_ACQUIRE.invoke(parkingSemaphore);
+        PARKING_RELEASE.invoke(parkingSemaphore);
+    }
+
+    @Benchmark
+    public void jucSemaphore() throws InterruptedException {
+        jucSemaphore.acquire();
+        jucSemaphore.release();
+    }
+
+    @Benchmark
+    public void reentrantLock() {
+        reentrantLock.lock();
+        reentrantLock.unlock();
+    }
+
+    @Benchmark
+    public void casSemaphore() {
+        casSemaphore.acquire();
+        casSemaphore.release();
+    }
+}
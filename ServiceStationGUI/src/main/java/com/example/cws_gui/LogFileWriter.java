@@ -0,0 +1,87 @@
+package com.example.cws_gui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Writes log records to disk on its own thread. submit never blocks: if the disk falls
+// a full queue behind, records are dropped and counted instead of slowing the simulation.
+//
+// close() never interrupts the thread: the file sits on an interruptible channel, and an
+// interrupt landing mid-write would close it and lose the last batch. The thread instead
+// polls with a timeout and leaves once running is false and the queue is empty.
+final class LogFileWriter {
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final long POLL_MS = 50;
+
+    private final Path path;
+    private final BlockingQueue<LogRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    LogFileWriter(Path path) {
+        this.path = path;
+        this.thread = new Thread(this::writeLoop, "LogFileWriter");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void submit(LogRecord record) {
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // Writes whatever is still queued and closes the file
+    void close() {
+        running = false;
+        try {
+            thread.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<LogRecord> batch = new ArrayList<>(256);
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            while (running || !queue.isEmpty()) {
+                try {
+                    LogRecord first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                } catch (InterruptedException e) {
+                    continue; // nothing interrupts this thread; running decides when it stops
+                }
+                queue.drainTo(batch);
+                for (LogRecord record : batch) {
+                    out.write(record.format());
+                    out.newLine();
+                }
+                batch.clear();
+
+                long lost = dropped.getAndSet(0);
+                if (lost > 0) {
+                    out.write("(" + lost + " log records dropped, disk could not keep up)");
+                    out.newLine();
+                }
+                if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Activity log file disabled, cannot write " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.cws_gui;
+
+import javafx.application.Platform;
+import javafx.collections.transformation.FilteredList;
+import javafx.geometry.Pos;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Activity log backed by a LogRing and shown through a ListView, which only builds cells
+// for the rows on screen. Records posted from simulation threads are collected and
+// handed to the FX thread in batches, and also go to the log file.
+class LogPanel extends VBox {
+    private static final int CAPACITY = 2000;
+
+    private final LogRing ring = new LogRing(CAPACITY);
+    private final FilteredList<LogRecord> filtered = new FilteredList<>(ring);
+    private final ListView<LogRecord> listView = new ListView<>(filtered);
+    private final ComboBox<LogRecord.Type> typeFilter = new ComboBox<>();
+    private final TextField pumpFilter = new TextField();
+    private final TextField carFilter = new TextField();
+    private final CheckBox follow = new CheckBox("Follow");
+
+    private final ConcurrentLinkedQueue<LogRecord> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final LogFileWriter fileWriter;
+
+    LogPanel(LogFileWriter fileWriter) {
+        super(8);
+        this.fileWriter = fileWriter;
+
+        typeFilter.getItems().add(null);
+        typeFilter.getItems().addAll(LogRecord.Type.values());
+        typeFilter.setPromptText("All events");
+        typeFilter.setButtonCell(new ListCell<>() {
+            @Override
+            protected void updateItem(LogRecord.Type item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(item == null ? "All events" : item.toString());
+            }
+        });
+        typeFilter.setCellFactory(view -> new ListCell<>() {
+            @Override
+            protected void updateItem(LogRecord.Type item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : item == null ? "All events" : item.toString());
+            }
+        });
+        pumpFilter.setPromptText("Pump #");
+        pumpFilter.setPrefWidth(80);
+        carFilter.setPromptText("Car #");
+        carFilter.setPrefWidth(80);
+        follow.setSelected(true);
+
+        typeFilter.valueProperty().addListener((obs, old, value) -> applyFilter());
+        pumpFilter.textProperty().addListener((obs, old, value) -> applyFilter());
+        carFilter.textProperty().addListener((obs, old, value) -> applyFilter());
+
+        HBox filterBar = new HBox(10, new Label("Show:"), typeFilter, pumpFilter, carFilter, follow);
+        filterBar.setAlignment(Pos.CENTER_LEFT);
+
+        listView.setStyle("-fx-font-family: 'Consolas', 'Monaco', monospace; -fx-font-size: 12px; " +
+                "-fx-control-inner-background: #1e272e; " +
+                "-fx-background-radius: 12; -fx-border-radius: 12; " +
+                "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+        listView.setCellFactory(view -> new ListCell<>() {
+            @Override
+            protected void updateItem(LogRecord item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : item.format());
+                setTextFill(Color.web("#00d2d3"));
+            }
+        });
+        listView.setPrefHeight(200);
+        VBox.setVgrow(listView, Priority.ALWAYS);
+
+        getChildren().addAll(filterBar, listView);
+    }
+
+    // Safe to call from any thread
+    void post(LogRecord record) {
+        pending.add(record);
+        if (fileWriter != null) {
+            fileWriter.submit(record);
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    void clear() {
+        pending.clear();
+        ring.clearRecords();
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        List<LogRecord> batch = new ArrayList<>();
+        LogRecord record;
+        while ((record = pending.poll()) != null) {
+            batch.add(record);
+        }
+        ring.appendAll(batch);
+        if (follow.isSelected() && !filtered.isEmpty()) {
+            listView.scrollTo(filtered.size() - 1);
+        }
+    }
+
+    private void applyFilter() {
+        LogRecord.Type type = typeFilter.getValue();
+        String pump = pumpFilter.getText().trim();
+        String car = carFilter.getText().trim();
+        filtered.setPredicate(record ->
+                (type == null || record.type == type)
+                        && matches(record.pump, pump, "Pump-")
+                        && matches(record.car, car, "Car-"));
+    }
+
+    // "3", "Pump-3" and "pump-3" all select Pump-3
+    private static boolean matches(String value, String filter, String prefix) {
+        if (filter.isEmpty()) {
+            return true;
+        }
+        return value != null && (value.equalsIgnoreCase(filter) || value.equalsIgnoreCase(prefix + filter));
+    }
+}
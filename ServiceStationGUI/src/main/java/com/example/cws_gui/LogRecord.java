@@ -0,0 +1,41 @@
+package com.example.cws_gui;
+
+// One activity-log entry. Records are immutable and only turned into text when a log
+// cell is actually on screen or the file writer gets to them.
+final class LogRecord {
+    enum Type {
+        STATION("Station"),
+        ARRIVAL("Arrivals"),
+        SERVICE_START("Service start"),
+        SERVICE_FINISH("Service finish");
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    final long time;
+    final Type type;
+    final String pump; // "Pump-2", or null when no pump is involved
+    final String car;  // "Car-7", or null when no car is involved
+    final String message;
+
+    LogRecord(long time, Type type, String pump, String car, String message) {
+        this.time = time;
+        this.type = type;
+        this.pump = pump;
+        this.car = car;
+        this.message = message;
+    }
+
+    String format() {
+        return String.format("[%tT] %s", time, message);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.cws_gui;
+
+import javafx.collections.ObservableListBase;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Fixed-capacity observable list of the newest log records. Appending to a full ring
+// drops the oldest record, so memory and per-append cost stay the same however long
+// the simulation runs. FX thread only.
+final class LogRing extends ObservableListBase<LogRecord> {
+    private final LogRecord[] records;
+    private int head = 0;
+    private int size = 0;
+
+    LogRing(int capacity) {
+        this.records = new LogRecord[capacity];
+    }
+
+    @Override
+    public LogRecord get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return records[(head + index) % records.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    void appendAll(List<LogRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Anything beyond one ring's worth would be evicted within this same batch
+        int from = Math.max(0, batch.size() - records.length);
+
+        beginChange();
+        for (int i = from; i < batch.size(); i++) {
+            if (size == records.length) {
+                LogRecord evicted = records[head];
+                head = (head + 1) % records.length;
+                size--;
+                nextRemove(0, evicted);
+            }
+            records[(head + size) % records.length] = batch.get(i);
+            size++;
+            nextAdd(size - 1, size);
+        }
+        endChange();
+    }
+
+    void clearRecords() {
+        if (size == 0) {
+            return;
+        }
+        List<LogRecord> removed = new ArrayList<>(this);
+        Arrays.fill(records, null);
+        head = 0;
+        size = 0;
+
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.cws_gui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+// Immutable, versioned view of the waiting queue. The entries hang off an append-only
+// chain of nodes: a car joining links one node after the last one, a car leaving just
+// moves the start forward, so the station publishes the next snapshot in O(1) while it
+// holds its mutex. Readers walk from start to last without locking; the nodes in that
+// range never change again, and nodes every snapshot has moved past are garbage.
+final class QueueSnapshot {
+    private static final class Node {
+        final String name;
+        Node next; // written once, before the snapshot that makes it reachable is published
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+
+    private final long version;
+    private final Node start; // node before the first waiting car
+    private final Node last;
+    private final int size;
+
+    private QueueSnapshot(long version, Node start, Node last, int size) {
+        this.version = version;
+        this.start = start;
+        this.last = last;
+        this.size = size;
+    }
+
+    // Each station starts its own chain
+    static QueueSnapshot empty() {
+        Node sentinel = new Node(null);
+        return new QueueSnapshot(0, sentinel, sentinel, 0);
+    }
+
+    // Writer side, called with the queue's mutex held
+    QueueSnapshot withAdded(String car) {
+        Node node = new Node(car);
+        last.next = node;
+        return new QueueSnapshot(version + 1, start, node, size + 1);
+    }
+
+    QueueSnapshot withFirstRemoved() {
+        return new QueueSnapshot(version + 1, start.next, last, size - 1);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Walks the cars at positions from (inclusive) to to (exclusive), front of the queue first
+    void forEach(int from, int to, ObjIntConsumer<String> action) {
+        to = Math.min(to, size);
+        Node node = start;
+        for (int i = 0; i < from && node != last; i++) {
+            node = node.next;
+        }
+        for (int i = Math.max(from, 0); i < to; i++) {
+            node = node.next;
+            action.accept(node.name, i);
+        }
+    }
+
+    List<String> names() {
+        List<String> names = new ArrayList<>(size);
+        for (Node node = start; node != last; node = node.next) {
+            names.add(node.next.name);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.cws_gui;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// The simulation behind the GUI. It knows nothing of JavaFX: everything it has to report
+// goes to a StationListener, which ServiceStationGUI implements to draw the station.
+//
+// This is a small threaded model of its own rather than the console simulator's
+// SimulationEngine: those classes sit in the default package, which this package cannot
+// import, and the window wants cars to move at a watchable pace on the SimulationClock,
+// where the discrete-event engine would finish the whole run before the first frame.
+class ServiceStation {
+    private final List<Car> carQueue = new LinkedList<>();
+    private final Mutex carMutex = new Mutex();
+    // Replaced under carMutex on every queue change, read by observers without it
+    private volatile QueueSnapshot queueSnapshot = QueueSnapshot.empty();
+    private final Semaphore emptySlots;
+    private final Semaphore fullSlots;
+    private final Semaphore availablePumps;
+    private final StationListener listener;
+    // Arrival and service delays run on this clock, which the window can speed up or pause
+    private final SimulationClock clock;
+    private final int slotSize;
+    private final int numPumps;
+    // Completes once every car is serviced or stop() is called; runSimulation then shuts
+    // down the pumps and any car threads still waiting before it returns
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final List<Car> cars = new CopyOnWriteArrayList<>();
+    private volatile Thread controller;
+    // Striped so pumps finishing together don't serialize on a lock
+    private final LongAdder carsServed = new LongAdder();
+
+    public ServiceStation(int slotSize, int numPumps) {
+        this(slotSize, numPumps, StationListener.NONE, new SimulationClock());
+    }
+
+    public ServiceStation(int slotSize, int numPumps, StationListener listener, SimulationClock clock) {
+        this.slotSize = slotSize;
+        this.numPumps = numPumps;
+        this.listener = listener;
+        this.clock = clock;
+
+        this.emptySlots = new Semaphore(slotSize);
+        this.fullSlots = new Semaphore(0);
+        this.availablePumps = new Semaphore(numPumps);
+
+        listener.stationOpened(slotSize, numPumps);
+    }
+
+    public void enterQueue(Car car) throws InterruptedException {
+        emptySlots.acquire();
+        carMutex.acquire();
+        carQueue.add(car);
+        QueueSnapshot snapshot = queueSnapshot.withAdded(car.getName());
+        queueSnapshot = snapshot;
+        carMutex.release();
+        fullSlots.release();
+        listener.queueChanged(this);
+        listener.statsChanged(carsServed.intValue(), snapshot.size());
+        listener.carEntered(car.getName(), snapshot.size());
+    }
+
+    public Car takeCar() throws InterruptedException {
+        fullSlots.acquire();
+        carMutex.acquire();
+        Car car = carQueue.remove(0);
+        QueueSnapshot snapshot = queueSnapshot.withFirstRemoved();
+        queueSnapshot = snapshot;
+        carMutex.release();
+        emptySlots.release();
+        listener.queueChanged(this);
+        listener.statsChanged(carsServed.intValue(), snapshot.size());
+        return car;
+    }
+
+    public QueueSnapshot getQueueSnapshot() {
+        return queueSnapshot;
+    }
+
+    public void runSimulation(int totalCars) {
+        controller = Thread.currentThread();
+        ExecutorService pumpPool = Executors.newFixedThreadPool(numPumps);
+        try {
+            startPumps(pumpPool, totalCars);
+            for (int i = 1; i <= totalCars && !completion.isDone(); i++) {
+                Car car = new Car("Car-" + i, this);
+                cars.add(car);
+                car.start();
+                try {
+                    clock.sleep((long) (Math.random() * 800));
+                } catch (InterruptedException e) {
+                    // stop() was called; the loop condition ends the arrivals
+                }
+            }
+            completion.join();
+        } finally {
+            pumpPool.shutdownNow();
+            for (Car car : cars) {
+                car.interrupt();
+            }
+            try {
+                pumpPool.awaitTermination(5, TimeUnit.SECONDS);
+                for (Car car : cars) {
+                    car.join(1000);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void startPumps(ExecutorService pumpPool, int totalCars) {
+
+        for (int i = 0; i < numPumps; i++) {
+            int pumpIndex = i;
+            pumpPool.submit(() -> {
+                try {
+                    while (!completion.isDone()) {
+                        Car car = takeCar();
+                        availablePumps.acquire();
+                        listener.serviceStarted(pumpIndex, car.getName());
+                        clock.sleep((long) (Math.random() * 2000 + 1000));
+                        carsServed.increment();
+                        int served = carsServed.intValue();
+                        listener.serviceFinished(pumpIndex, car.getName());
+                        listener.statsChanged(served, queueSnapshot.size());
+                        availablePumps.release();
+
+                        // Several pumps can see the last car counted; complete() lets one through
+                        if (served >= totalCars && completion.complete(null)) {
+                            listener.simulationComplete(totalCars);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    public void stop() {
+        completion.complete(null);
+        Thread thread = controller;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
+
+class Car extends Thread {
+    private final ServiceStation station;
+    public Car(String name, ServiceStation station) {
+        super(name);
+        this.station = station;
+    }
+    @Override
+    public void run() {
+        try {
+            station.enterQueue(this);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+class Semaphore {
+    private int permits;
+    public Semaphore(int initialPermits) {
+        this.permits = initialPermits;
+    }
+    public synchronized void acquire() throws InterruptedException {
+        while (permits == 0) wait();
+        permits--;
+    }
+    public synchronized void release() {
+        permits++;
+        notify();
+    }
+}
+
+class Mutex {
+    private boolean locked = false;
+    public synchronized void acquire() throws InterruptedException {
+        while (locked) wait();
+        locked = true;
+    }
+    public synchronized void release() {
+        locked = false;
+        notify();
+    }
+}
\ No newline at end of file
@@ -1,305 +1,358 @@
 package com.example.cws_gui;
 
+import javafx.animation.*;
 import javafx.application.Application;
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
+import javafx.scene.effect.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.*;
 
-// === MAIN APPLICATION ===
-public class ServiceStationGUI extends Application {
+public class ServiceStationGUI extends Application implements StationListener {
+    private static final String LOG_FILE = "service-station.log";
+    private static final double ANIMATION_SPEED_LIMIT = 10;
+
+    // Used for GUI
     private HBox pumpBox;
     private FlowPane waitingCarsBox;
-    private TextArea logArea;
+    private WaitingAreaView queueView;
+    private ScrollPane queueScroll;
+    // Stations past the node-per-car limits are drawn here instead of pumpBox and queueView
+    private StationCanvasView canvasView;
+    private boolean largeMode;
+    private LogPanel logPanel;
+    private LogFileWriter logFile;
     private TextField waitingAreaField, pumpCountField, carCountField;
     private Button startButton, stopButton, resetButton;
     private Label statusText, pumpsStatusLabel, queueStatusLabel, statsLabel;
     private ServiceStation station;
+    // Each run gets its own clock; the speed slider carries over between runs
+    private SimulationClock clock;
+    private Slider speedSlider;
+    private Label speedLabel;
+    private Button pauseButton, stepButton;
+    // Written by the simulation threads, drawn by frameTimer once per frame
+    private volatile StationUpdates updates;
+    private AnimationTimer frameTimer;
+    private String[] shownPumpCars = new String[0];
+    private long shownQueueVersion;
+    private int shownServed;
     private Map<Integer, VBox> pumpVisuals = new HashMap<>();
+    private Label servedLabel, waitingLabel, totalLabel;
+
+    // Used for backend
     private int configSlots = 5;
     private int configPumps = 3;
     private int configCars = 12;
 
+
     @Override
     public void start(Stage stage) {
-        // Top Section - Header
         Label title = new Label("Service Station Simulator");
-        title.setFont(Font.font("System", FontWeight.BOLD, 24));
+        title.setFont(Font.font("System", FontWeight.BOLD, 28));
         title.setTextFill(Color.WHITE);
-        title.setGraphic(createCarIcon(20, Color.WHITE));
-        title.setGraphicTextGap(10);
+        title.setGraphic(createCarIcon(24, Color.WHITE));
+        title.setGraphicTextGap(12);
+        title.setEffect(new DropShadow(5, Color.rgb(0, 0, 0, 0.3)));
 
-        HBox configBox = new HBox(15);
+        HBox configBox = new HBox(20);
         configBox.setAlignment(Pos.CENTER_LEFT);
+        configBox.setPadding(new Insets(10, 0, 0, 0));
 
-        Label slotsLabel = new Label("Waiting Slots:");
-        slotsLabel.setTextFill(Color.WHITE);
-        slotsLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
-        waitingAreaField = new TextField("5");
-        waitingAreaField.setPrefWidth(60);
-
-        Label pumpsLabel = new Label("Pumps:");
-        pumpsLabel.setTextFill(Color.WHITE);
-        pumpsLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
-        pumpCountField = new TextField("3");
-        pumpCountField.setPrefWidth(60);
-
-        Label carsLabel = new Label("Cars:");
-        carsLabel.setTextFill(Color.WHITE);
-        carsLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
-        carCountField = new TextField("12");
-        carCountField.setPrefWidth(60);
-
-        startButton = new Button("Start Simulation");
-        startButton.setGraphic(createPlayIcon(12, Color.WHITE));
-        startButton.setStyle("-fx-background-color: #27ae60; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 20;");
-        startButton.setOnAction(e -> startSimulation());
+        // Styled input groups
+        VBox slotsGroup = createInputGroup("Waiting Slots", waitingAreaField = new TextField("5"));
+        VBox pumpsGroup = createInputGroup("Pumps", pumpCountField = new TextField("3"));
+        VBox carsGroup = createInputGroup("Cars", carCountField = new TextField("12"));
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        startButton = new Button("Start");
+        startButton.setGraphic(createPlayIcon(14, Color.WHITE));
+        startButton.setStyle("-fx-background-color: linear-gradient(to bottom, #27ae60, #229954); " +
+                "-fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 25; " +
+                "-fx-background-radius: 6; -fx-cursor: hand; -fx-font-size: 13px;");
+        addHoverEffect(startButton, "#27ae60", "#1e8449");
 
         stopButton = new Button("Stop");
         stopButton.setGraphic(createStopIcon(12, Color.WHITE));
-        stopButton.setStyle("-fx-background-color: #e74c3c; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 20;");
+        stopButton.setStyle("-fx-background-color: linear-gradient(to bottom, #e74c3c, #c0392b); " +
+                "-fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 25; " +
+                "-fx-background-radius: 6; -fx-cursor: hand; -fx-font-size: 13px;");
         stopButton.setDisable(true);
-        stopButton.setOnAction(e -> stopSimulation());
+        addHoverEffect(stopButton, "#e74c3c", "#a93226");
 
         resetButton = new Button("Reset");
         resetButton.setGraphic(createResetIcon(12, Color.WHITE));
-        resetButton.setStyle("-fx-background-color: #95a5a6; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 8 20;");
+        resetButton.setStyle("-fx-background-color: linear-gradient(to bottom, #95a5a6, #7f8c8d); " +
+                "-fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 10 25; " +
+                "-fx-background-radius: 6; -fx-cursor: hand; -fx-font-size: 13px;");
+        addHoverEffect(resetButton, "#95a5a6", "#5d6d7e");
+
+        startButton.setOnAction(e -> startSimulation());
+        stopButton.setOnAction(e -> stopSimulation());
         resetButton.setOnAction(e -> resetSimulation());
 
-        configBox.getChildren().addAll(slotsLabel, waitingAreaField, pumpsLabel, pumpCountField,
-                carsLabel, carCountField, startButton, stopButton, resetButton);
+        HBox buttonBox = new HBox(12, startButton, stopButton, resetButton);
+        buttonBox.setAlignment(Pos.CENTER_RIGHT);
+
+        configBox.getChildren().addAll(slotsGroup, pumpsGroup, carsGroup, spacer, buttonBox);
+
+        HBox speedBox = createSpeedControls();
 
         statusText = new Label("Ready to start simulation");
         statusText.setTextFill(Color.web("#ecf0f1"));
-        statusText.setFont(Font.font(14));
-        statusText.setGraphic(createInfoIcon(14, Color.web("#ecf0f1")));
-        statusText.setGraphicTextGap(8);
+        statusText.setFont(Font.font("System", FontWeight.NORMAL, 14));
+        statusText.setGraphic(createInfoIcon(16, Color.web("#ecf0f1")));
+        statusText.setGraphicTextGap(10);
 
-        VBox topBox = new VBox(15, title, configBox, statusText);
-        topBox.setStyle("-fx-background-color: #2c3e50; -fx-padding: 20;");
+        VBox topBox = new VBox(18, title, configBox, speedBox, statusText);
+        topBox.setStyle("-fx-background-color: linear-gradient(to bottom, #2c3e50, #34495e); -fx-padding: 25;");
 
-        // Center Section - Pumps and Waiting Area
+        // Center Section - Pumps
         Label pumpsTitle = new Label("Fuel Pumps");
-        pumpsTitle.setFont(Font.font("System", FontWeight.BOLD, 18));
+        pumpsTitle.setFont(Font.font("System", FontWeight.BOLD, 20));
         pumpsTitle.setTextFill(Color.web("#2c3e50"));
-        pumpsTitle.setGraphic(createPumpIconLarge(18, Color.web("#2c3e50")));
-        pumpsTitle.setGraphicTextGap(10);
+        pumpsTitle.setGraphic(createPumpIconLarge(20, Color.web("#2c3e50")));
+        pumpsTitle.setGraphicTextGap(12);
 
-        pumpsStatusLabel = new Label("(3 available)");
-        pumpsStatusLabel.setFont(Font.font(14));
+        pumpsStatusLabel = new Label("3 available");
+        pumpsStatusLabel.setFont(Font.font("System", FontWeight.NORMAL, 13));
         pumpsStatusLabel.setTextFill(Color.web("#7f8c8d"));
 
         HBox pumpsTitleBox = new HBox(10, pumpsTitle, pumpsStatusLabel);
         pumpsTitleBox.setAlignment(Pos.CENTER_LEFT);
+        pumpsTitleBox.setPadding(new Insets(0, 0, 10, 0));
 
-        pumpBox = new HBox(15);
+        pumpBox = new HBox(20);
         pumpBox.setAlignment(Pos.CENTER);
-        pumpBox.setStyle("-fx-padding: 20; -fx-background-color: white; -fx-background-radius: 10;");
+        pumpBox.setStyle("-fx-padding: 25; -fx-background-color: white; " +
+                "-fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+        pumpBox.setPrefHeight(180);
 
+        // Waiting Area
         Label queueTitle = new Label("Waiting Area");
-        queueTitle.setFont(Font.font("System", FontWeight.BOLD, 18));
+        queueTitle.setFont(Font.font("System", FontWeight.BOLD, 20));
         queueTitle.setTextFill(Color.web("#2c3e50"));
-        queueTitle.setGraphic(createCarIcon(18, Color.web("#2c3e50")));
-        queueTitle.setGraphicTextGap(10);
+        queueTitle.setGraphic(createCarIcon(20, Color.web("#2c3e50")));
+        queueTitle.setGraphicTextGap(12);
 
-        queueStatusLabel = new Label("(0 / 5)");
-        queueStatusLabel.setFont(Font.font(14));
+        queueStatusLabel = new Label("0 / 5");
+        queueStatusLabel.setFont(Font.font("System", FontWeight.NORMAL, 13));
         queueStatusLabel.setTextFill(Color.web("#7f8c8d"));
 
         HBox queueTitleBox = new HBox(10, queueTitle, queueStatusLabel);
         queueTitleBox.setAlignment(Pos.CENTER_LEFT);
+        queueTitleBox.setPadding(new Insets(15, 0, 10, 0));
 
-        waitingCarsBox = new FlowPane(10, 10);
+        waitingCarsBox = new FlowPane(12, 12);
         waitingCarsBox.setAlignment(Pos.TOP_LEFT);
         waitingCarsBox.setStyle("-fx-padding: 20; -fx-background-color: white;");
+        waitingCarsBox.setMinHeight(100);
+        queueView = new WaitingAreaView(waitingCarsBox, () -> createCarIcon(28, Color.web("#3498db")));
 
-        ScrollPane queueScroll = new ScrollPane(waitingCarsBox);
+        queueScroll = new ScrollPane(waitingCarsBox);
         queueScroll.setFitToWidth(true);
-        queueScroll.setPrefHeight(150);
-        queueScroll.setStyle("-fx-background: white; -fx-background-color: white;");
+        queueScroll.setPrefHeight(140);
+        queueScroll.setStyle("-fx-background: white; -fx-background-color: transparent; " +
+                "-fx-background-radius: 12; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
 
+        // Activity Log
         Label logTitle = new Label("Activity Log");
-        logTitle.setFont(Font.font("System", FontWeight.BOLD, 18));
+        logTitle.setFont(Font.font("System", FontWeight.BOLD, 20));
         logTitle.setTextFill(Color.web("#2c3e50"));
-        logTitle.setGraphic(createLogIcon(18, Color.web("#2c3e50")));
-        logTitle.setGraphicTextGap(10);
-
-        logArea = new TextArea();
-        logArea.setEditable(false);
-        logArea.setWrapText(true);
-        logArea.setPrefHeight(180);
-        logArea.setStyle("-fx-font-family: 'Consolas', 'Monaco', monospace; -fx-font-size: 12px; " +
-                "-fx-control-inner-background: #2c3e50; -fx-text-fill: #ecf0f1;");
-
-        VBox centerContent = new VBox(10, pumpsTitleBox, pumpBox, queueTitleBox, queueScroll, logTitle, logArea);
-        centerContent.setStyle("-fx-padding: 15; -fx-background-color: #ecf0f1;");
-        VBox.setVgrow(queueScroll, Priority.NEVER);
-        VBox.setVgrow(logArea, Priority.NEVER);
-
-        queueScroll.setPrefHeight(120);
-        queueScroll.setMinHeight(120);
-        logArea.setPrefHeight(150);
-        logArea.setMinHeight(150);
+        logTitle.setGraphic(createLogIcon(20, Color.web("#2c3e50")));
+        logTitle.setGraphicTextGap(12);
 
-        ScrollPane centerScroll = new ScrollPane(centerContent);
-        centerScroll.setFitToWidth(true);
-        centerScroll.setStyle("-fx-background: #ecf0f1; -fx-background-color: #ecf0f1;");
+        logFile = new LogFileWriter(Path.of(LOG_FILE));
+        logPanel = new LogPanel(logFile);
+
+        canvasView = new StationCanvasView();
+        canvasView.setStyle("-fx-background-color: white; -fx-background-radius: 12; " +
+                "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+        setLargeMode(false);
 
-        // Bottom Section - Statistics
-        Label statsTitle = new Label("Statistics:");
-        statsTitle.setTextFill(Color.WHITE);
-        statsTitle.setFont(Font.font("System", FontWeight.BOLD, 12));
-        statsTitle.setGraphic(createChartIcon(12, Color.WHITE));
-        statsTitle.setGraphicTextGap(8);
+        VBox centerContent = new VBox(15, pumpsTitleBox, pumpBox, queueTitleBox, queueScroll, canvasView,
+                new VBox(10, logTitle, logPanel));
+        centerContent.setStyle("-fx-padding: 25; -fx-background-color: #f5f6fa;");
+        VBox.setVgrow(logPanel, Priority.ALWAYS);
 
-        statsLabel = new Label("Served: 0 | Waiting: 0 | Total: 0");
-        statsLabel.setTextFill(Color.web("#ecf0f1"));
-        statsLabel.setFont(Font.font(14));
+        ScrollPane centerScroll = new ScrollPane(centerContent);
+        centerScroll.setFitToWidth(true);
+        centerScroll.setStyle("-fx-background: #f5f6fa; -fx-background-color: #f5f6fa;");
 
-        HBox bottomBox = new HBox(20, statsTitle, statsLabel);
-        bottomBox.setAlignment(Pos.CENTER);
-        bottomBox.setStyle("-fx-padding: 15; -fx-background-color: #34495e;");
+        // Bottom Section
+        HBox statsBox = createStatsBox();
 
         // Main Layout
         BorderPane root = new BorderPane();
         root.setTop(topBox);
         root.setCenter(centerScroll);
-        root.setBottom(bottomBox);
+        root.setBottom(statsBox);
 
         initializePumps(3);
 
-        Scene scene = new Scene(root, 900, 700);
-        stage.setMinWidth(700);
-        stage.setMinHeight(600);
+        Scene scene = new Scene(root, 1000, 750);
+        stage.setMinWidth(800);
+        stage.setMinHeight(650);
         stage.setTitle("Service Station Simulator");
         stage.setScene(scene);
         stage.show();
-    }
-
-    // === ICON CREATION METHODS ===
-
-    private StackPane createCarIcon(double size, Color color) {
-        StackPane icon = new StackPane();
-
-        // Car body
-        Rectangle body = new Rectangle(size * 1.2, size * 0.6);
-        body.setFill(color);
-        body.setArcWidth(size * 0.2);
-        body.setArcHeight(size * 0.2);
-
-        // Car top
-        Rectangle top = new Rectangle(size * 0.7, size * 0.4);
-        top.setFill(color);
-        top.setTranslateY(-size * 0.3);
-        top.setArcWidth(size * 0.15);
-        top.setArcHeight(size * 0.15);
 
-        // Wheels
-        Circle wheel1 = new Circle(size * 0.15);
-        wheel1.setFill(color);
-        wheel1.setTranslateX(-size * 0.35);
-        wheel1.setTranslateY(size * 0.3);
-
-        Circle wheel2 = new Circle(size * 0.15);
-        wheel2.setFill(color);
-        wheel2.setTranslateX(size * 0.35);
-        wheel2.setTranslateY(size * 0.3);
+        frameTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                applyUpdates();
+            }
+        };
+        frameTimer.start();
+    }
+
+    // The slider is logarithmic: -1..3 maps to 0.1x..1000x
+    private HBox createSpeedControls() {
+        Label label = new Label("Speed");
+        label.setTextFill(Color.web("#ecf0f1"));
+        label.setFont(Font.font("System", FontWeight.BOLD, 11));
+
+        speedSlider = new Slider(Math.log10(SimulationClock.MIN_SPEED), Math.log10(SimulationClock.MAX_SPEED), 0);
+        speedSlider.setPrefWidth(260);
+        speedLabel = new Label();
+        speedLabel.setTextFill(Color.WHITE);
+        speedLabel.setFont(Font.font("System", FontWeight.BOLD, 13));
+        speedLabel.setMinWidth(70);
+        speedSlider.valueProperty().addListener((obs, old, value) -> {
+            speedLabel.setText(formatSpeed(selectedSpeed()));
+            if (clock != null) {
+                clock.setSpeed(selectedSpeed());
+            }
+        });
+        speedLabel.setText(formatSpeed(selectedSpeed()));
+
+        String buttonStyle = "-fx-background-color: rgba(255, 255, 255, 0.15); -fx-text-fill: white; " +
+                "-fx-font-weight: bold; -fx-padding: 6 16; -fx-background-radius: 6; -fx-cursor: hand;";
+        pauseButton = new Button("Pause");
+        pauseButton.setStyle(buttonStyle);
+        pauseButton.setDisable(true);
+        pauseButton.setOnAction(e -> togglePause());
+        stepButton = new Button("Step");
+        stepButton.setStyle(buttonStyle);
+        stepButton.setDisable(true);
+        stepButton.setOnAction(e -> clock.step());
+
+        HBox box = new HBox(12, label, speedSlider, speedLabel, pauseButton, stepButton);
+        box.setAlignment(Pos.CENTER_LEFT);
+        return box;
+    }
+
+    private double selectedSpeed() {
+        return Math.pow(10, speedSlider.getValue());
+    }
+
+    private static String formatSpeed(double speed) {
+        return speed < 10 ? String.format("%.1fx", speed) : String.format("%.0fx", speed);
+    }
+
+    private void togglePause() {
+        if (clock.isPaused()) {
+            clock.resume();
+            pauseButton.setText("Pause");
+            stepButton.setDisable(true);
+            statusText.setText("Simulation running...");
+            statusText.setTextFill(Color.web("#2ecc71"));
+            statusText.setGraphic(createPlayIcon(16, Color.web("#2ecc71")));
+        } else {
+            clock.pause();
+            pauseButton.setText("Resume");
+            stepButton.setDisable(false);
+            statusText.setText("Simulation paused - Step runs the next arrival or service");
+            statusText.setTextFill(Color.web("#f39c12"));
+            statusText.setGraphic(createInfoIcon(16, Color.web("#f39c12")));
+        }
+    }
 
-        icon.getChildren().addAll(body, top, wheel1, wheel2);
-        return icon;
+    // Above this speed events come faster than the fades and pulses can play, so the
+    // window just shows each frame's state
+    private boolean animationsOn() {
+        SimulationClock current = clock;
+        return current == null || current.getSpeed() <= ANIMATION_SPEED_LIMIT;
     }
 
-    private StackPane createPumpIconLarge(double size, Color color) {
-        StackPane icon = new StackPane();
+    private VBox createInputGroup(String label, TextField field) {
+        Label lbl = new Label(label);
+        lbl.setTextFill(Color.web("#ecf0f1"));
+        lbl.setFont(Font.font("System", FontWeight.BOLD, 11));
 
-        // Pump body
-        Rectangle body = new Rectangle(size * 0.6, size);
-        body.setFill(color);
-        body.setArcWidth(size * 0.1);
-        body.setArcHeight(size * 0.1);
+        field.setPrefWidth(70);
+        field.setStyle("-fx-background-color: rgba(255, 255, 255, 0.9); " +
+                "-fx-background-radius: 5; -fx-padding: 6 10; " +
+                "-fx-font-size: 13px; -fx-font-weight: bold;");
 
-        // Display screen
-        Rectangle screen = new Rectangle(size * 0.4, size * 0.25);
-        screen.setFill(Color.TRANSPARENT);
-        screen.setStroke(Color.WHITE);
-        screen.setStrokeWidth(1.5);
-        screen.setTranslateY(-size * 0.2);
+        VBox group = new VBox(5, lbl, field);
+        group.setAlignment(Pos.CENTER_LEFT);
+        return group;
+    }
 
-        // Nozzle holder
-        Circle nozzle = new Circle(size * 0.15);
-        nozzle.setFill(color);
-        nozzle.setTranslateX(size * 0.4);
+    private HBox createStatsBox() {
+        HBox statsBox = new HBox(30);
+        statsBox.setAlignment(Pos.CENTER);
+        statsBox.setStyle("-fx-background-color: linear-gradient(to bottom, #34495e, #2c3e50); -fx-padding: 20;");
 
-        icon.getChildren().addAll(body, screen, nozzle);
-        return icon;
-    }
+        servedLabel = createStatCard("Served", "0", "#27ae60");
+        waitingLabel = createStatCard("Waiting", "0", "#3498db");
+        totalLabel = createStatCard("Total", "0", "#95a5a6");
 
-    private SVGPath createPlayIcon(double size, Color color) {
-        SVGPath play = new SVGPath();
-        play.setContent("M 0 0 L " + size + " " + (size/2) + " L 0 " + size + " Z");
-        play.setFill(color);
-        return play;
+        statsBox.getChildren().addAll(servedLabel, waitingLabel, totalLabel);
+        return statsBox;
     }
 
-    private Rectangle createStopIcon(double size, Color color) {
-        Rectangle stop = new Rectangle(size, size);
-        stop.setFill(color);
-        return stop;
-    }
+    private Label createStatCard(String title, String value, String color) {
+        VBox card = new VBox(5);
+        card.setAlignment(Pos.CENTER);
+        card.setStyle("-fx-background-color: rgba(255, 255, 255, 0.1); " +
+                "-fx-background-radius: 10; -fx-padding: 15 30; " +
+                "-fx-border-color: " + color + "; -fx-border-width: 2; -fx-border-radius: 10;");
 
-    private SVGPath createResetIcon(double size, Color color) {
-        SVGPath reset = new SVGPath();
-        reset.setContent("M 12 4 C 9.79 4 7.7 4.85 6.17 6.39 L 4 4.18 L 4 10 L 10 10 L 7.82 7.82 C 9.05 6.59 10.5 6 12 6 C 15.31 6 18 8.69 18 12 C 18 15.31 15.31 18 12 18 C 9.94 18 8.08 16.95 7 15.39 L 5.27 16.73 C 6.73 18.78 9.21 20 12 20 C 16.42 20 20 16.42 20 12 C 20 7.58 16.42 4 12 4 Z");
-        reset.setFill(color);
-        reset.setScaleX(size / 24);
-        reset.setScaleY(size / 24);
-        return reset;
-    }
+        Label titleLabel = new Label(title);
+        titleLabel.setTextFill(Color.web("#bdc3c7"));
+        titleLabel.setFont(Font.font("System", FontWeight.BOLD, 11));
 
-    private SVGPath createInfoIcon(double size, Color color) {
-        SVGPath info = new SVGPath();
-        info.setContent("M 12 2 C 6.48 2 2 6.48 2 12 C 2 17.52 6.48 22 12 22 C 17.52 22 22 17.52 22 12 C 22 6.48 17.52 2 12 2 Z M 13 17 L 11 17 L 11 11 L 13 11 Z M 13 9 L 11 9 L 11 7 L 13 7 Z");
-        info.setFill(color);
-        info.setScaleX(size / 24);
-        info.setScaleY(size / 24);
-        return info;
-    }
+        Label valueLabel = new Label(value);
+        valueLabel.setTextFill(Color.web(color));
+        valueLabel.setFont(Font.font("System", FontWeight.BOLD, 28));
+        valueLabel.setEffect(new DropShadow(3, Color.rgb(0, 0, 0, 0.3)));
 
-    private SVGPath createLogIcon(double size, Color color) {
-        SVGPath log = new SVGPath();
-        log.setContent("M 14 2 L 6 2 C 4.9 2 4 2.9 4 4 L 4 20 C 4 21.1 4.89 22 5.99 22 L 18 22 C 19.1 22 20 21.1 20 20 L 20 8 Z M 16 18 L 8 18 L 8 16 L 16 16 Z M 16 14 L 8 14 L 8 12 L 16 12 Z M 13 9 L 13 3.5 L 18.5 9 Z");
-        log.setFill(color);
-        log.setScaleX(size / 24);
-        log.setScaleY(size / 24);
-        return log;
-    }
+        card.getChildren().addAll(titleLabel, valueLabel);
 
-    private SVGPath createChartIcon(double size, Color color) {
-        SVGPath chart = new SVGPath();
-        chart.setContent("M 5 9.2 L 5 19 L 9.8 19 L 9.8 9.2 Z M 10.8 5 L 10.8 19 L 15.6 19 L 15.6 5 Z M 16.6 13 L 16.6 19 L 21.4 19 L 21.4 13 Z");
-        chart.setFill(color);
-        chart.setScaleX(size / 24);
-        chart.setScaleY(size / 24);
-        return chart;
+        Label container = new Label();
+        container.setGraphic(card);
+        container.setUserData(valueLabel);
+        return container;
     }
 
-    private StackPane createCheckIcon(double size, Color color) {
-        SVGPath check = new SVGPath();
-        check.setContent("M 9 16.17 L 4.83 12 L 3.41 13.41 L 9 19 L 21 7 L 19.59 5.59 Z");
-        check.setFill(color);
-        check.setScaleX(size / 24);
-        check.setScaleY(size / 24);
-        StackPane icon = new StackPane(check);
-        return icon;
+    private void addHoverEffect(Button button, String normalColor, String hoverColor) {
+        button.setOnMouseEntered(e -> {
+            button.setStyle(button.getStyle().replace(normalColor, hoverColor));
+            ScaleTransition st = new ScaleTransition(Duration.millis(100), button);
+            st.setToX(1.05);
+            st.setToY(1.05);
+            st.play();
+        });
+        button.setOnMouseExited(e -> {
+            button.setStyle(button.getStyle().replace(hoverColor, normalColor));
+            ScaleTransition st = new ScaleTransition(Duration.millis(100), button);
+            st.setToX(1.0);
+            st.setToY(1.0);
+            st.play();
+        });
     }
 
     private void initializePumps(int count) {
@@ -310,39 +363,65 @@ public class ServiceStationGUI extends Application {
             VBox pumpVisual = createPumpVisual(i);
             pumpVisuals.put(i, pumpVisual);
             pumpBox.getChildren().add(pumpVisual);
+
+            // Entrance animation
+            pumpVisual.setOpacity(0);
+            pumpVisual.setTranslateY(-20);
+            FadeTransition ft = new FadeTransition(Duration.millis(400), pumpVisual);
+            ft.setToValue(1.0);
+            ft.setDelay(Duration.millis(i * 100));
+            TranslateTransition tt = new TranslateTransition(Duration.millis(400), pumpVisual);
+            tt.setToY(0);
+            tt.setDelay(Duration.millis(i * 100));
+            ft.play();
+            tt.play();
         }
     }
 
     private VBox createPumpVisual(int pumpId) {
-        VBox container = new VBox(8);
+        VBox container = new VBox(10);
         container.setAlignment(Pos.CENTER);
-        container.setStyle("-fx-border-color: #bdc3c7; -fx-border-width: 2; -fx-border-radius: 8; " +
-                "-fx-background-color: #ecf0f1; -fx-background-radius: 8; -fx-padding: 15;");
-        container.setPrefWidth(120);
+        container.setStyle("-fx-border-color: #27ae60; -fx-border-width: 3; -fx-border-radius: 10; " +
+                "-fx-background-color: white; -fx-background-radius: 10; -fx-padding: 20; " +
+                "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.15), 8, 0, 0, 2);");
+        container.setPrefWidth(140);
+        container.setMinHeight(150);
 
         Label pumpLabel = new Label("Pump " + (pumpId + 1));
-        pumpLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
+        pumpLabel.setFont(Font.font("System", FontWeight.BOLD, 15));
+        pumpLabel.setTextFill(Color.web("#2c3e50"));
 
-        Rectangle pumpShape = new Rectangle(40, 60);
+        Rectangle pumpShape = new Rectangle(50, 70);
         pumpShape.setFill(Color.web("#27ae60"));
-        pumpShape.setArcWidth(10);
-        pumpShape.setArcHeight(10);
+        pumpShape.setArcWidth(12);
+        pumpShape.setArcHeight(12);
+        pumpShape.setEffect(new DropShadow(5, Color.rgb(0, 0, 0, 0.2)));
 
-        Circle nozzle = new Circle(8);
+        Rectangle screen = new Rectangle(30, 15);
+        screen.setFill(Color.web("#2ecc71"));
+        screen.setArcWidth(3);
+        screen.setArcHeight(3);
+        screen.setTranslateY(-15);
+
+        Circle nozzle = new Circle(10);
         nozzle.setFill(Color.web("#2ecc71"));
+        nozzle.setEffect(new InnerShadow(5, Color.rgb(0, 0, 0, 0.3)));
+
+        StackPane pumpGraphic = new StackPane(pumpShape, screen);
+        VBox fullPump = new VBox(8, pumpGraphic, nozzle);
+        fullPump.setAlignment(Pos.CENTER);
 
-        Label statusLabel = new Label("FREE");
+        Label statusLabel = new Label("AVAILABLE");
         statusLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
         statusLabel.setTextFill(Color.web("#27ae60"));
+        statusLabel.setStyle("-fx-background-color: rgba(39, 174, 96, 0.1); " +
+                "-fx-background-radius: 5; -fx-padding: 4 12;");
 
         Label carLabel = new Label("");
-        carLabel.setFont(Font.font(10));
+        carLabel.setFont(Font.font("System", FontWeight.NORMAL, 10));
         carLabel.setTextFill(Color.web("#7f8c8d"));
 
-        VBox pumpGraphic = new VBox(5, pumpShape, nozzle);
-        pumpGraphic.setAlignment(Pos.CENTER);
-
-        container.getChildren().addAll(pumpLabel, pumpGraphic, statusLabel, carLabel);
+        container.getChildren().addAll(pumpLabel, fullPump, statusLabel, carLabel);
         return container;
     }
 
@@ -356,8 +435,8 @@ public class ServiceStationGUI extends Application {
                 showAlert("Invalid Input", "All values must be at least 1");
                 return;
             }
-            if (configSlots > 20 || configPumps > 10 || configCars > 100) {
-                showAlert("Invalid Input", "Maximum limits: Slots=20, Pumps=10, Cars=100");
+            if (configSlots > 10000 || configPumps > 500 || configCars > 100000) {
+                showAlert("Invalid Input", "Maximum limits: Slots=10000, Pumps=500, Cars=100000");
                 return;
             }
         } catch (NumberFormatException e) {
@@ -365,10 +444,16 @@ public class ServiceStationGUI extends Application {
             return;
         }
 
-        logArea.clear();
-        waitingCarsBox.getChildren().clear();
-
-        initializePumps(configPumps);
+        logPanel.clear();
+        queueView.clear();
+        // Past 20 slots or 10 pumps the per-car nodes and their effects cost more than a frame
+        setLargeMode(configSlots > 20 || configPumps > 10);
+        if (largeMode) {
+            initializePumps(0);
+            canvasView.reset(configPumps, configSlots);
+        } else {
+            initializePumps(configPumps);
+        }
 
         startButton.setDisable(true);
         stopButton.setDisable(false);
@@ -376,25 +461,39 @@ public class ServiceStationGUI extends Application {
         pumpCountField.setDisable(true);
         carCountField.setDisable(true);
 
-        pumpsStatusLabel.setText("(" + configPumps + " available)");
-        queueStatusLabel.setText("(0 / " + configSlots + ")");
-        statsLabel.setText("Served: 0 | Waiting: 0 | Total: " + configCars);
+        pumpsStatusLabel.setText(configPumps + " available");
+        queueStatusLabel.setText("0 / " + configSlots);
+        updateStatsDisplay(0, 0, configCars);
+
         statusText.setText("Simulation running...");
         statusText.setTextFill(Color.web("#2ecc71"));
-        statusText.setGraphic(createPlayIcon(14, Color.web("#2ecc71")));
-
-        station = new ServiceStation(configSlots, configPumps, this);
-        new Thread(() -> station.runSimulation(configCars)).start();
+        statusText.setGraphic(createPlayIcon(16, Color.web("#2ecc71")));
+
+        updates = new StationUpdates(configPumps);
+        shownPumpCars = new String[configPumps];
+        shownQueueVersion = -1;
+        shownServed = 0;
+        clock = new SimulationClock();
+        clock.setSpeed(selectedSpeed());
+        pauseButton.setText("Pause");
+        pauseButton.setDisable(false);
+        stepButton.setDisable(true);
+        station = new ServiceStation(configSlots, configPumps, this, clock);
+        Thread simulation = new Thread(() -> station.runSimulation(configCars), "Simulation");
+        simulation.setDaemon(true);
+        simulation.start();
         log("Simulation started: " + configCars + " cars, " + configPumps + " pumps, " + configSlots + " slots");
     }
 
     private void stopSimulation() {
         if (station != null) {
             station.stop();
-            log("Simulation stopped manually.");
+            log("Simulation stopped manually");
         }
         startButton.setDisable(false);
         stopButton.setDisable(true);
+        pauseButton.setDisable(true);
+        stepButton.setDisable(true);
         waitingAreaField.setDisable(false);
         pumpCountField.setDisable(false);
         carCountField.setDisable(false);
@@ -405,18 +504,19 @@ public class ServiceStationGUI extends Application {
 
     private void resetSimulation() {
         stopSimulation();
-        logArea.clear();
-        waitingCarsBox.getChildren().clear();
+        logPanel.clear();
+        queueView.clear();
+        setLargeMode(false);
         initializePumps(3);
         waitingAreaField.setText("5");
         pumpCountField.setText("3");
         carCountField.setText("12");
-        pumpsStatusLabel.setText("(3 available)");
-        queueStatusLabel.setText("(0 / 5)");
-        statsLabel.setText("Served: 0 | Waiting: 0 | Total: 0");
+        pumpsStatusLabel.setText("3 available");
+        queueStatusLabel.setText("0 / 5");
+        updateStatsDisplay(0, 0, 0);
         statusText.setText("Ready to start simulation");
         statusText.setTextFill(Color.web("#ecf0f1"));
-        statusText.setGraphic(createInfoIcon(14, Color.web("#ecf0f1")));
+        statusText.setGraphic(createInfoIcon(16, Color.web("#ecf0f1")));
         log("Simulation reset");
     }
 
@@ -428,203 +528,259 @@ public class ServiceStationGUI extends Application {
         alert.showAndWait();
     }
 
-    public void updatePumpStatus(int index, String carName, boolean occupied) {
-        Platform.runLater(() -> {
-            VBox pumpVisual = pumpVisuals.get(index);
-            if (pumpVisual != null) {
-                Rectangle pumpShape = (Rectangle) ((VBox) pumpVisual.getChildren().get(1)).getChildren().get(0);
-                Circle nozzle = (Circle) ((VBox) pumpVisual.getChildren().get(1)).getChildren().get(1);
-                Label statusLabel = (Label) pumpVisual.getChildren().get(2);
-                Label carLabel = (Label) pumpVisual.getChildren().get(3);
-
-                if (occupied) {
-                    pumpShape.setFill(Color.web("#e74c3c"));
-                    nozzle.setFill(Color.web("#c0392b"));
-                    statusLabel.setText("BUSY");
-                    statusLabel.setTextFill(Color.web("#e74c3c"));
-                    carLabel.setText(carName);
-                } else {
-                    pumpShape.setFill(Color.web("#27ae60"));
-                    nozzle.setFill(Color.web("#2ecc71"));
-                    statusLabel.setText("FREE");
-                    statusLabel.setTextFill(Color.web("#27ae60"));
-                    carLabel.setText("");
-                }
-            }
-        });
+    // === STATION EVENTS ===
+    @Override
+    public void stationOpened(int slots, int pumps) {
+        log("Station initialized with " + slots + " waiting slots and " + pumps + " pumps");
     }
 
-    public void updateQueue(List<String> cars) {
-        Platform.runLater(() -> {
-            waitingCarsBox.getChildren().clear();
-            for (String car : cars) {
-                VBox carBox = new VBox(5);
-                carBox.setAlignment(Pos.CENTER);
-                carBox.setStyle("-fx-border-color: #3498db; -fx-border-width: 2; -fx-border-radius: 5; " +
-                        "-fx-background-color: #ecf0f1; -fx-background-radius: 5; -fx-padding: 10;");
-
-                StackPane carIconGraphic = createCarIcon(24, Color.web("#3498db"));
-
-                Label carNameLabel = new Label(car);
-                carNameLabel.setFont(Font.font("System", FontWeight.BOLD, 11));
-                carNameLabel.setTextFill(Color.web("#2c3e50"));
-
-                carBox.getChildren().addAll(carIconGraphic, carNameLabel);
-                waitingCarsBox.getChildren().add(carBox);
-            }
+    @Override
+    public void carEntered(String car, int waiting) {
+        log(LogRecord.Type.ARRIVAL, null, car, car + " enters the queue (" + waiting + " waiting)");
+    }
 
-            queueStatusLabel.setText("(" + cars.size() + " / " + configSlots + ")");
-        });
+    @Override
+    public void serviceStarted(int pump, String car) {
+        updates.pumpBusy(pump, car);
+        String pumpName = "Pump-" + (pump + 1);
+        log(LogRecord.Type.SERVICE_START, pumpName, car, pumpName + " starts servicing " + car);
     }
 
-    public void updateStats(int served, int waiting) {
-        Platform.runLater(() -> {
-            statsLabel.setText("Served: " + served + " | Waiting: " + waiting + " | Total: " + configCars);
-        });
+    @Override
+    public void serviceFinished(int pump, String car) {
+        updates.pumpFree(pump);
+        String pumpName = "Pump-" + (pump + 1);
+        log(LogRecord.Type.SERVICE_FINISH, pumpName, car, pumpName + " finished servicing " + car);
     }
 
-    public void log(String msg) {
-        Platform.runLater(() -> logArea.appendText(msg + "\n"));
+    @Override
+    public void simulationComplete(int totalCars) {
+        log("Simulation complete! All " + totalCars + " cars serviced");
     }
 
-    public static void main(String[] args) {
-        launch();
+    @Override
+    public void statsChanged(int served, int waiting) {
+        updates.served(served); // waiting is read from the queue snapshot
     }
-}
 
-// === SIMULATION LOGIC ===
-class ServiceStation {
-    private final List<Car> carQueue = new LinkedList<>();
-    private final Mutex carMutex = new Mutex();
-    private final Semaphore emptySlots;
-    private final Semaphore fullSlots;
-    private final Semaphore availablePumps;
-    private final ServiceStationGUI gui;
-    private final int slotSize;
-    private final int numPumps;
-    private volatile boolean running = true;
-    private int carsServed = 0;
-
-    public ServiceStation(int slotSize, int numPumps, ServiceStationGUI gui) {
-        this.slotSize = slotSize;
-        this.numPumps = numPumps;
-        this.gui = gui;
-
-        this.emptySlots = new Semaphore(slotSize);
-        this.fullSlots = new Semaphore(0);
-        this.availablePumps = new Semaphore(numPumps);
-
-        gui.log("Station initialized with " + slotSize + " waiting slots and " + numPumps + " pumps.");
-    }
-
-    public void enterQueue(Car car) throws InterruptedException {
-        emptySlots.acquire();
-        carMutex.acquire();
-        carQueue.add(car);
-        gui.updateQueue(carQueue.stream().map(Car::getName).toList());
-        gui.updateStats(carsServed, carQueue.size());
-        gui.log(car.getName() + " enters the queue (" + carQueue.size() + " waiting)");
-        carMutex.release();
-        fullSlots.release();
-    }
-
-    public Car takeCar() throws InterruptedException {
-        fullSlots.acquire();
-        carMutex.acquire();
-        Car car = carQueue.remove(0);
-        gui.updateQueue(carQueue.stream().map(Car::getName).toList());
-        gui.updateStats(carsServed, carQueue.size());
-        carMutex.release();
-        emptySlots.release();
-        return car;
-    }
-
-    public void runSimulation(int totalCars) {
-        ExecutorService pumpPool = Executors.newFixedThreadPool(numPumps);
-
-        for (int i = 0; i < numPumps; i++) {
-            int pumpIndex = i;
-            pumpPool.submit(() -> {
-                try {
-                    while (running) {
-                        Car car = takeCar();
-                        availablePumps.acquire();
-                        gui.updatePumpStatus(pumpIndex, car.getName(), true);
-                        gui.log("Pump-" + (pumpIndex + 1) + " starts servicing " + car.getName());
-                        Thread.sleep((int) (Math.random() * 2000 + 1000));
-                        gui.updatePumpStatus(pumpIndex, car.getName(), false);
-                        synchronized (this) {
-                            carsServed++;
-                            gui.updateStats(carsServed, carQueue.size());
-                        }
-                        gui.log("Pump-" + (pumpIndex + 1) + " finished servicing " + car.getName());
-                        availablePumps.release();
-
-                        if (carsServed >= totalCars) {
-                            gui.log("Simulation complete! All " + totalCars + " cars serviced.");
-                            running = false;
-                        }
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+    // One merged update per frame: only pumps whose car changed are animated, the queue
+    // is redrawn only for a newer snapshot and the stats only when a value moved
+    private void applyUpdates() {
+        StationUpdates latest = updates;
+        ServiceStation current = station;
+        if (latest == null || current == null) {
+            return;
+        }
+        for (int i = 0; i < shownPumpCars.length; i++) {
+            String car = latest.pumpCar(i);
+            if (!Objects.equals(car, shownPumpCars[i])) {
+                shownPumpCars[i] = car;
+                if (largeMode) {
+                    canvasView.setPump(i, car);
+                } else {
+                    updatePumpStatus(i, car, car != null);
                 }
-            });
+            }
         }
-
-        for (int i = 1; i <= totalCars; i++) {
-            new Car("Car-" + i, this).start();
-            try {
-                Thread.sleep((int) (Math.random() * 800));
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+        QueueSnapshot snapshot = current.getQueueSnapshot();
+        int served = latest.served();
+        if (snapshot.version() > shownQueueVersion) {
+            shownQueueVersion = snapshot.version();
+            if (largeMode) {
+                canvasView.setQueue(snapshot);
+            } else {
+                queueView.update(snapshot.names());
             }
+            queueStatusLabel.setText(snapshot.size() + " / " + configSlots);
+            updateStatsDisplay(served, snapshot.size(), configCars);
+            shownServed = served;
+        } else if (served != shownServed) {
+            updateStatsDisplay(served, snapshot.size(), configCars);
+            shownServed = served;
+        }
+        if (largeMode) {
+            canvasView.redrawIfDirty();
         }
     }
 
-    public void stop() {
-        running = false;
+    private void setLargeMode(boolean large) {
+        largeMode = large;
+        pumpBox.setVisible(!large);
+        pumpBox.setManaged(!large);
+        queueScroll.setVisible(!large);
+        queueScroll.setManaged(!large);
+        canvasView.setVisible(large);
+        canvasView.setManaged(large);
+    }
+
+    private void updatePumpStatus(int index, String carName, boolean occupied) {
+        VBox pumpVisual = pumpVisuals.get(index);
+        if (pumpVisual != null) {
+            VBox fullPump = (VBox) pumpVisual.getChildren().get(1);
+            StackPane pumpGraphic = (StackPane) fullPump.getChildren().get(0);
+            Rectangle pumpShape = (Rectangle) pumpGraphic.getChildren().get(0);
+            Rectangle screen = (Rectangle) pumpGraphic.getChildren().get(1);
+            Circle nozzle = (Circle) fullPump.getChildren().get(1);
+            Label statusLabel = (Label) pumpVisual.getChildren().get(2);
+            Label carLabel = (Label) pumpVisual.getChildren().get(3);
+
+            Duration fade = animationsOn() ? Duration.millis(300) : Duration.ONE;
+            FillTransition ft = new FillTransition(fade, pumpShape);
+            FillTransition nft = new FillTransition(fade, nozzle);
+            FillTransition sft = new FillTransition(fade, screen);
+
+            if (occupied) {
+                ft.setToValue(Color.web("#e74c3c"));
+                nft.setToValue(Color.web("#c0392b"));
+                sft.setToValue(Color.web("#e74c3c"));
+                statusLabel.setText("BUSY");
+                statusLabel.setTextFill(Color.web("#e74c3c"));
+                statusLabel.setStyle("-fx-background-color: rgba(231, 76, 60, 0.1); " +
+                        "-fx-background-radius: 5; -fx-padding: 4 12;");
+                carLabel.setText(carName);
+                pumpVisual.setStyle(pumpVisual.getStyle().replace("#27ae60", "#e74c3c"));
+            } else {
+                ft.setToValue(Color.web("#27ae60"));
+                nft.setToValue(Color.web("#2ecc71"));
+                sft.setToValue(Color.web("#2ecc71"));
+                statusLabel.setText("AVAILABLE");
+                statusLabel.setTextFill(Color.web("#27ae60"));
+                statusLabel.setStyle("-fx-background-color: rgba(39, 174, 96, 0.1); " +
+                        "-fx-background-radius: 5; -fx-padding: 4 12;");
+                carLabel.setText("");
+                pumpVisual.setStyle(pumpVisual.getStyle().replace("#e74c3c", "#27ae60"));
+            }
+            ft.play();
+            nft.play();
+            sft.play();
+        }
     }
-}
 
-class Car extends Thread {
-    private final ServiceStation station;
-    public Car(String name, ServiceStation station) {
-        super(name);
-        this.station = station;
+    private void updateStatsDisplay(int served, int waiting, int total) {
+        animateStatValue(servedLabel, served);
+        animateStatValue(waitingLabel, waiting);
+        animateStatValue(totalLabel, total);
     }
-    @Override
-    public void run() {
-        try {
-            station.enterQueue(this);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+
+    private void animateStatValue(Label statCard, int newValue) {
+        Label valueLabel = (Label) statCard.getUserData();
+        String text = String.valueOf(newValue);
+        if (valueLabel != null && !text.equals(valueLabel.getText())) {
+            valueLabel.setText(text);
+            if (!animationsOn()) {
+                return;
+            }
+            ScaleTransition st = new ScaleTransition(Duration.millis(200), valueLabel);
+            st.setToX(1.15);
+            st.setToY(1.15);
+            st.setAutoReverse(true);
+            st.setCycleCount(2);
+            st.play();
         }
     }
-}
 
-class Semaphore {
-    private int permits;
-    public Semaphore(int initialPermits) {
-        this.permits = initialPermits;
+    public void log(String msg) {
+        log(LogRecord.Type.STATION, null, null, msg);
     }
-    public synchronized void acquire() throws InterruptedException {
-        while (permits == 0) wait();
-        permits--;
+
+    public void log(LogRecord.Type type, String pump, String car, String msg) {
+        logPanel.post(new LogRecord(System.currentTimeMillis(), type, pump, car, msg));
     }
-    public synchronized void release() {
-        permits++;
-        notify();
+
+    // === ICON CREATION METHODS ===
+    private StackPane createCarIcon(double size, Color color) {
+        StackPane icon = new StackPane();
+        Rectangle body = new Rectangle(size * 1.2, size * 0.6);
+        body.setFill(color);
+        body.setArcWidth(size * 0.2);
+        body.setArcHeight(size * 0.2);
+        Rectangle top = new Rectangle(size * 0.7, size * 0.4);
+        top.setFill(color);
+        top.setTranslateY(-size * 0.3);
+        top.setArcWidth(size * 0.15);
+        top.setArcHeight(size * 0.15);
+        Circle wheel1 = new Circle(size * 0.15);
+        wheel1.setFill(color);
+        wheel1.setTranslateX(-size * 0.35);
+        wheel1.setTranslateY(size * 0.3);
+        Circle wheel2 = new Circle(size * 0.15);
+        wheel2.setFill(color);
+        wheel2.setTranslateX(size * 0.35);
+        wheel2.setTranslateY(size * 0.3);
+        icon.getChildren().addAll(body, top, wheel1, wheel2);
+        return icon;
+    }
+
+    private StackPane createPumpIconLarge(double size, Color color) {
+        StackPane icon = new StackPane();
+        Rectangle body = new Rectangle(size * 0.6, size);
+        body.setFill(color);
+        body.setArcWidth(size * 0.1);
+        body.setArcHeight(size * 0.1);
+        Rectangle screen = new Rectangle(size * 0.4, size * 0.25);
+        screen.setFill(Color.TRANSPARENT);
+        screen.setStroke(color);
+        screen.setStrokeWidth(2);
+        screen.setTranslateY(-size * 0.2);
+        Circle nozzle = new Circle(size * 0.15);
+        nozzle.setFill(color);
+        nozzle.setTranslateX(size * 0.4);
+        icon.getChildren().addAll(body, screen, nozzle);
+        return icon;
+    }
+
+    private SVGPath createPlayIcon(double size, Color color) {
+        SVGPath play = new SVGPath();
+        play.setContent("M 0 0 L " + size + " " + (size/2) + " L 0 " + size + " Z");
+        play.setFill(color);
+        return play;
+    }
+
+    private Rectangle createStopIcon(double size, Color color) {
+        Rectangle stop = new Rectangle(size, size);
+        stop.setFill(color);
+        stop.setArcWidth(2);
+        stop.setArcHeight(2);
+        return stop;
+    }
+
+    private SVGPath createResetIcon(double size, Color color) {
+        SVGPath reset = new SVGPath();
+        reset.setContent("M 12 4 C 9.79 4 7.7 4.85 6.17 6.39 L 4 4.18 L 4 10 L 10 10 L 7.82 7.82 C 9.05 6.59 10.5 6 12 6 C 15.31 6 18 8.69 18 12 C 18 15.31 15.31 18 12 18 C 9.94 18 8.08 16.95 7 15.39 L 5.27 16.73 C 6.73 18.78 9.21 20 12 20 C 16.42 20 20 16.42 20 12 C 20 7.58 16.42 4 12 4 Z");
+        reset.setFill(color);
+        reset.setScaleX(size / 24);
+        reset.setScaleY(size / 24);
+        return reset;
+    }
+
+    private SVGPath createInfoIcon(double size, Color color) {
+        SVGPath info = new SVGPath();
+        info.setContent("M 12 2 C 6.48 2 2 6.48 2 12 C 2 17.52 6.48 22 12 22 C 17.52 22 22 17.52 22 12 C 22 6.48 17.52 2 12 2 Z M 13 17 L 11 17 L 11 11 L 13 11 Z M 13 9 L 11 9 L 11 7 L 13 7 Z");
+        info.setFill(color);
+        info.setScaleX(size / 24);
+        info.setScaleY(size / 24);
+        return info;
+    }
+
+    private SVGPath createLogIcon(double size, Color color) {
+        SVGPath log = new SVGPath();
+        log.setContent("M 14 2 L 6 2 C 4.9 2 4 2.9 4 4 L 4 20 C 4 21.1 4.89 22 5.99 22 L 18 22 C 19.1 22 20 21.1 20 20 L 20 8 Z M 16 18 L 8 18 L 8 16 L 16 16 Z M 16 14 L 8 14 L 8 12 L 16 12 Z M 13 9 L 13 3.5 L 18.5 9 Z");
+        log.setFill(color);
+        log.setScaleX(size / 24);
+        log.setScaleY(size / 24);
+        return log;
     }
-}
 
-class Mutex {
-    private boolean locked = false;
-    public synchronized void acquire() throws InterruptedException {
-        while (locked) wait();
-        locked = true;
+    @Override
+    public void stop() {
+        frameTimer.stop();
+        if (station != null) {
+            station.stop();
+        }
+        logFile.close();
     }
-    public synchronized void release() {
-        locked = false;
-        notify();
+
+    public static void main(String[] args) {
+        launch();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package com.example.cws_gui;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Simulated time for the station's arrival and service delays. It runs at a multiple of the
+// wall clock, can be paused, and while paused step() jumps straight to the next pending
+// wakeup and releases that one sleeper, so exactly one arrival or service completion
+// happens. Changing the speed or pausing wakes every sleeper to recompute its wait, so a
+// slow sleep started at 0.1x finishes promptly once the speed goes up.
+//
+// Sleepers never take the clock's lock: they read the current timebase from a volatile
+// field and park on their own thread. Only the controls, which run on the FX thread,
+// synchronize, to publish a new timebase together with the wakeups it needs.
+final class SimulationClock {
+    static final double MIN_SPEED = 0.1;
+    static final double MAX_SPEED = 1000;
+
+    private volatile Timebase timebase = new Timebase(1, false, 0, System.nanoTime());
+    // Ordered by wake time, ties in the order the sleeps started
+    private final ConcurrentSkipListSet<Sleeper> sleepers = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong((Sleeper s) -> s.wakeAt).thenComparingLong(s -> s.seq));
+    private final AtomicLong nextSeq = new AtomicLong();
+
+    // Simulated nanoseconds since the clock was created
+    long now() {
+        return timebase.now();
+    }
+
+    void sleep(long millis) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (millis <= 0) {
+            return;
+        }
+        Sleeper sleeper = new Sleeper(now() + TimeUnit.MILLISECONDS.toNanos(millis),
+                nextSeq.getAndIncrement(), Thread.currentThread());
+        sleepers.add(sleeper);
+        try {
+            // While paused only step() lets a sleeper through, even if time has reached it
+            while (!sleeper.released) {
+                Timebase current = timebase;
+                long now = current.now();
+                if (current.paused) {
+                    LockSupport.park(this);
+                } else if (now >= sleeper.wakeAt) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(this, Math.max(1, (long) ((sleeper.wakeAt - now) / current.speed)));
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            sleepers.remove(sleeper);
+        }
+    }
+
+    double getSpeed() {
+        return timebase.speed;
+    }
+
+    synchronized void setSpeed(double speed) {
+        Timebase current = timebase;
+        timebase = new Timebase(Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed)),
+                current.paused, current.now(), System.nanoTime());
+        wakeAll();
+    }
+
+    boolean isPaused() {
+        return timebase.paused;
+    }
+
+    synchronized void pause() {
+        Timebase current = timebase;
+        timebase = new Timebase(current.speed, true, current.now(), System.nanoTime());
+        wakeAll();
+    }
+
+    synchronized void resume() {
+        Timebase current = timebase;
+        timebase = new Timebase(current.speed, false, current.now(), System.nanoTime());
+        wakeAll();
+    }
+
+    // Only while paused; does nothing when no thread is waiting on the clock. Sleepers due
+    // at the same instant are released one per step, earliest started first.
+    synchronized void step() {
+        Timebase current = timebase;
+        if (!current.paused) {
+            return;
+        }
+        Sleeper next = sleepers.pollFirst();
+        if (next == null) {
+            return;
+        }
+        timebase = new Timebase(current.speed, true, Math.max(current.anchorTime, next.wakeAt), System.nanoTime());
+        next.released = true;
+        LockSupport.unpark(next.thread);
+    }
+
+    private void wakeAll() {
+        for (Sleeper sleeper : sleepers) {
+            LockSupport.unpark(sleeper.thread);
+        }
+    }
+
+    // now() = anchorTime + (System.nanoTime() - anchorWall) * speed, frozen while paused
+    private static final class Timebase {
+        final double speed;
+        final boolean paused;
+        final long anchorTime;
+        final long anchorWall;
+
+        Timebase(double speed, boolean paused, long anchorTime, long anchorWall) {
+            this.speed = speed;
+            this.paused = paused;
+            this.anchorTime = anchorTime;
+            this.anchorWall = anchorWall;
+        }
+
+        long now() {
+            if (paused) {
+                return anchorTime;
+            }
+            return anchorTime + (long) ((System.nanoTime() - anchorWall) * speed);
+        }
+    }
+
+    private static final class Sleeper {
+        final long wakeAt;
+        final long seq;
+        final Thread thread;
+        volatile boolean released;
+
+        Sleeper(long wakeAt, long seq, Thread thread) {
+            this.wakeAt = wakeAt;
+            this.seq = seq;
+            this.thread = thread;
+        }
+    }
+}
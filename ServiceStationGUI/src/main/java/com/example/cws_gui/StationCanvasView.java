@@ -0,0 +1,252 @@
+package com.example.cws_gui;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+// Draws the bays and the waiting area of a large station onto one Canvas, in a single
+// pass and only for the part that is on screen, instead of a node tree per pump and car.
+// Scrolling zooms around the pointer and dragging pans. Detail follows the zoom: labels
+// and rounded cells when cells are big, plain cells below that, and once cells are only
+// a few pixels the waiting cars are filled in as whole rows (the queue always occupies
+// the first slots, so that is at most two rectangles). FX thread only.
+final class StationCanvasView extends Pane {
+    private static final double CELL = 40;          // world units per bay or slot
+    private static final double GAP = 6;
+    private static final double SECTION_GAP = 40;   // between the bays and the waiting area
+    private static final double LABEL_SIZE = 28;    // on-screen cell size that gets text
+    private static final double CELL_SIZE = 6;      // below this, slots are drawn as rows
+    private static final int MAX_BAY_COLUMNS = 25;
+    private static final int MAX_SLOT_COLUMNS = 60;
+
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color BAY_FREE = Color.web("#27ae60");
+    private static final Color BAY_BUSY = Color.web("#e74c3c");
+    private static final Color CAR = Color.web("#3498db");
+    private static final Color SLOT = Color.web("#ecf0f1");
+    private static final Color TEXT = Color.WHITE;
+
+    private final Canvas canvas = new Canvas();
+    private final Font font = Font.font("System", 11);
+
+    private String[] pumpCars = new String[0];
+    private QueueSnapshot queue = QueueSnapshot.empty();
+    private int slots = 0;
+    private int bayColumns = 1;
+    private int slotColumns = 1;
+
+    // screen = world * zoom - offset
+    private double zoom = 1;
+    private double offsetX = 0;
+    private double offsetY = 0;
+    private boolean fitPending = true;
+    private boolean dirty = true;
+    private double dragX;
+    private double dragY;
+
+    StationCanvasView() {
+        getChildren().add(canvas);
+        canvas.setManaged(false); // sized by the pane, so it must not feed back into its size
+        setPrefHeight(460);
+        canvas.widthProperty().bind(widthProperty());
+        canvas.heightProperty().bind(heightProperty());
+        widthProperty().addListener(o -> redraw());
+        heightProperty().addListener(o -> redraw());
+
+        setOnScroll(e -> {
+            double factor = Math.pow(1.002, e.getDeltaY());
+            double newZoom = Math.max(0.02, Math.min(4, zoom * factor));
+            // Keep the world point under the pointer where it is
+            offsetX = (offsetX + e.getX()) * newZoom / zoom - e.getX();
+            offsetY = (offsetY + e.getY()) * newZoom / zoom - e.getY();
+            zoom = newZoom;
+            redraw();
+            e.consume();
+        });
+        setOnMousePressed(e -> {
+            dragX = e.getX();
+            dragY = e.getY();
+        });
+        setOnMouseDragged(e -> {
+            offsetX -= e.getX() - dragX;
+            offsetY -= e.getY() - dragY;
+            dragX = e.getX();
+            dragY = e.getY();
+            redraw();
+        });
+        // Double-click brings the whole station back into view
+        setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2) {
+                fitPending = true;
+                redraw();
+            }
+        });
+    }
+
+    void reset(int pumps, int slots) {
+        this.pumpCars = new String[pumps];
+        this.slots = slots;
+        this.queue = QueueSnapshot.empty();
+        this.bayColumns = Math.max(1, Math.min(pumps, MAX_BAY_COLUMNS));
+        this.slotColumns = Math.max(1, Math.min(slots, MAX_SLOT_COLUMNS));
+        fitPending = true;
+        redraw();
+    }
+
+    void setPump(int pump, String car) {
+        if (pump < pumpCars.length) {
+            pumpCars[pump] = car;
+            dirty = true;
+        }
+    }
+
+    void setQueue(QueueSnapshot queue) {
+        this.queue = queue;
+        dirty = true;
+    }
+
+    // Called once per frame after the updates for that frame are in
+    void redrawIfDirty() {
+        if (dirty) {
+            redraw();
+        }
+    }
+
+    private void redraw() {
+        dirty = false;
+        double width = getWidth();
+        double height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (fitPending) {
+            fit(width);
+        }
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setFill(BACKGROUND);
+        g.fillRect(0, 0, width, height);
+        g.setFont(font);
+        g.setTextAlign(TextAlignment.CENTER);
+
+        drawBays(g, width, height);
+        drawWaitingArea(g, width, height);
+    }
+
+    private void fit(double width) {
+        double worldWidth = Math.max(bayColumns, slotColumns) * (CELL + GAP) + GAP;
+        zoom = Math.max(0.02, Math.min(1, width / worldWidth));
+        offsetX = 0;
+        offsetY = 0;
+        fitPending = false;
+    }
+
+    private double waitingAreaTop() {
+        int bayRows = (pumpCars.length + bayColumns - 1) / bayColumns;
+        return GAP + bayRows * (CELL + GAP) + SECTION_GAP;
+    }
+
+    private void drawBays(GraphicsContext g, double width, double height) {
+        double size = CELL * zoom;
+        int rows = (pumpCars.length + bayColumns - 1) / bayColumns;
+        int firstRow = Math.max(0, (int) ((offsetY / zoom - GAP) / (CELL + GAP)));
+        int lastRow = Math.min(rows - 1, (int) (((offsetY + height) / zoom) / (CELL + GAP)));
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = 0; column < bayColumns; column++) {
+                int pump = row * bayColumns + column;
+                if (pump >= pumpCars.length) {
+                    break;
+                }
+                double x = (GAP + column * (CELL + GAP)) * zoom - offsetX;
+                double y = (GAP + row * (CELL + GAP)) * zoom - offsetY;
+                if (x > width || x + size < 0) {
+                    continue;
+                }
+                String car = pumpCars[pump];
+                g.setFill(car != null ? BAY_BUSY : BAY_FREE);
+                fillCell(g, x, y, size);
+                if (size >= LABEL_SIZE) {
+                    g.setFill(TEXT);
+                    g.fillText("P" + (pump + 1), x + size / 2, y + size / 2 - 2, size - 4);
+                    if (car != null) {
+                        g.fillText(car, x + size / 2, y + size / 2 + 12, size - 4);
+                    }
+                }
+            }
+        }
+    }
+
+    private void drawWaitingArea(GraphicsContext g, double width, double height) {
+        double top = waitingAreaTop();
+        double size = CELL * zoom;
+        double pitch = (CELL + GAP) * zoom;
+        int rows = (slots + slotColumns - 1) / slotColumns;
+        int firstRow = Math.max(0, (int) ((offsetY / zoom - top) / (CELL + GAP)));
+        int lastRow = Math.min(rows - 1, (int) (((offsetY + height) / zoom - top) / (CELL + GAP)));
+        if (firstRow > lastRow) {
+            return;
+        }
+        int waiting = queue.size();
+        double left = GAP * zoom - offsetX;
+
+        if (size < CELL_SIZE) {
+            // Empty slots, then the waiting cars over them, one rectangle per block of rows
+            double rowWidth = slotColumns * pitch;
+            double y = (top + firstRow * (CELL + GAP)) * zoom - offsetY;
+            g.setFill(SLOT);
+            g.fillRect(left, y, rowWidth, (lastRow - firstRow + 1) * pitch);
+            int lastFullSlotRow = slots / slotColumns - 1;
+            if (lastRow > lastFullSlotRow && slots % slotColumns != 0) {
+                // the last row of slots is only partly there
+                double partialY = (top + (lastFullSlotRow + 1) * (CELL + GAP)) * zoom - offsetY;
+                g.setFill(BACKGROUND);
+                g.fillRect(left + (slots % slotColumns) * pitch, partialY, rowWidth, pitch);
+            }
+            int fullRows = waiting / slotColumns;
+            g.setFill(CAR);
+            if (fullRows > firstRow) {
+                int to = Math.min(fullRows - 1, lastRow);
+                g.fillRect(left, y, rowWidth, (to - firstRow + 1) * pitch);
+            }
+            int remainder = waiting % slotColumns;
+            if (remainder > 0 && fullRows >= firstRow && fullRows <= lastRow) {
+                double partialY = (top + fullRows * (CELL + GAP)) * zoom - offsetY;
+                g.fillRect(left, partialY, remainder * pitch, pitch);
+            }
+            return;
+        }
+
+        int from = firstRow * slotColumns;
+        int to = Math.min(slots, (lastRow + 1) * slotColumns);
+        g.setFill(SLOT);
+        for (int slot = Math.max(from, waiting); slot < to; slot++) {
+            double x = left + (slot % slotColumns) * pitch;
+            if (x <= width && x + size >= 0) {
+                fillCell(g, x, (top + (slot / slotColumns) * (CELL + GAP)) * zoom - offsetY, size);
+            }
+        }
+        queue.forEach(from, to, (car, slot) -> {
+            double x = left + (slot % slotColumns) * pitch;
+            if (x > width || x + size < 0) {
+                return;
+            }
+            double y = (top + (slot / slotColumns) * (CELL + GAP)) * zoom - offsetY;
+            g.setFill(CAR);
+            fillCell(g, x, y, size);
+            if (size >= LABEL_SIZE) {
+                g.setFill(TEXT);
+                g.fillText(car, x + size / 2, y + size / 2 + 4, size - 4);
+            }
+        });
+    }
+
+    private static void fillCell(GraphicsContext g, double x, double y, double size) {
+        if (size >= LABEL_SIZE) {
+            g.fillRoundRect(x, y, size, size, size / 5, size / 5);
+        } else {
+            g.fillRect(x, y, size, size);
+        }
+    }
+}
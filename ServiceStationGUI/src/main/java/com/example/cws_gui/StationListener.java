@@ -0,0 +1,24 @@
+package com.example.cws_gui;
+
+// What a ServiceStation reports while it runs. Every method does nothing by default, so a
+// listener only overrides what it needs and a headless run uses NONE. Calls come straight
+// from the car, pump and simulation threads; a listener that draws something hands the
+// work to its UI thread itself and must not block the caller.
+interface StationListener {
+    StationListener NONE = new StationListener() {};
+
+    default void stationOpened(int slots, int pumps) {}
+
+    // station.getQueueSnapshot() already holds the change, or a later one
+    default void queueChanged(ServiceStation station) {}
+
+    default void carEntered(String car, int waiting) {}
+
+    default void serviceStarted(int pump, String car) {}
+
+    default void serviceFinished(int pump, String car) {}
+
+    default void statsChanged(int served, int waiting) {}
+
+    default void simulationComplete(int totalCars) {}
+}
@@ -0,0 +1,45 @@
+package com.example.cws_gui;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Latest station state for the screen, one slot per pump plus the served count. Simulation
+// threads overwrite their slot and never queue anything, so a burst of events costs the
+// same memory as a single one; the FX thread reads it all once per frame and draws only
+// what changed since the frame before. The queue needs no slot here, its snapshot is
+// already the latest state (see ServiceStation.getQueueSnapshot).
+final class StationUpdates {
+    private final AtomicReferenceArray<String> pumpCars; // car on each pump, null when free
+    private final AtomicInteger served = new AtomicInteger();
+
+    StationUpdates(int pumps) {
+        this.pumpCars = new AtomicReferenceArray<>(pumps);
+    }
+
+    // A stopped run's pumps can still report while the next run starts; pumps this run
+    // does not have are ignored
+    void pumpBusy(int pump, String car) {
+        if (pump < pumpCars.length()) {
+            pumpCars.set(pump, car);
+        }
+    }
+
+    void pumpFree(int pump) {
+        if (pump < pumpCars.length()) {
+            pumpCars.set(pump, null);
+        }
+    }
+
+    // Pumps report the count they saw, which can arrive out of order
+    void served(int count) {
+        served.accumulateAndGet(count, Math::max);
+    }
+
+    String pumpCar(int pump) {
+        return pumpCars.get(pump);
+    }
+
+    int served() {
+        return served.get();
+    }
+}
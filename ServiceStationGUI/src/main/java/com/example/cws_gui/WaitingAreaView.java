@@ -0,0 +1,171 @@
+package com.example.cws_gui;
+
+import javafx.animation.FadeTransition;
+import javafx.animation.ParallelTransition;
+import javafx.animation.ScaleTransition;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.util.Duration;
+import java.util.*;
+import java.util.function.Supplier;
+
+// Renders the waiting cars into a FlowPane by diffing each new queue against the last one:
+// only cars that joined or left are animated, cars still waiting keep their tile, and
+// tiles of departed cars go back to a pool for the next arrivals. Must be used on the FX thread.
+class WaitingAreaView {
+    // One car box plus its enter/exit animations, created once and reused
+    private static final class CarTile {
+        final VBox box;
+        final Label nameLabel;
+        final ParallelTransition enter;
+        final ParallelTransition exit;
+
+        CarTile(VBox box, Label nameLabel) {
+            this.box = box;
+            this.nameLabel = nameLabel;
+
+            FadeTransition fadeIn = new FadeTransition(Duration.millis(300), box);
+            fadeIn.setToValue(1.0);
+            ScaleTransition growIn = new ScaleTransition(Duration.millis(300), box);
+            growIn.setToX(1.0);
+            growIn.setToY(1.0);
+            this.enter = new ParallelTransition(fadeIn, growIn);
+
+            FadeTransition fadeOut = new FadeTransition(Duration.millis(200), box);
+            fadeOut.setToValue(0.0);
+            ScaleTransition shrinkOut = new ScaleTransition(Duration.millis(200), box);
+            shrinkOut.setToX(0.8);
+            shrinkOut.setToY(0.8);
+            this.exit = new ParallelTransition(fadeOut, shrinkOut);
+        }
+    }
+
+    private final FlowPane pane;
+    private final Supplier<Node> carIcon;
+    private final Map<String, CarTile> visible = new HashMap<>();
+    private final Set<CarTile> leaving = new LinkedHashSet<>();
+    private final Deque<CarTile> pool = new ArrayDeque<>();
+    private final List<Node> desired = new ArrayList<>();
+
+    WaitingAreaView(FlowPane pane, Supplier<Node> carIcon) {
+        this.pane = pane;
+        this.carIcon = carIcon;
+    }
+
+    void update(List<String> cars) {
+        Set<String> waiting = new HashSet<>(cars);
+
+        Iterator<Map.Entry<String, CarTile>> it = visible.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CarTile> entry = it.next();
+            if (!waiting.contains(entry.getKey())) {
+                it.remove();
+                animateOut(entry.getValue());
+            }
+        }
+
+        // Leaving tiles stay in place until their exit animation ends; a FIFO queue loses
+        // cars at the front, so keeping them first leaves everything else where it was
+        desired.clear();
+        for (CarTile tile : leaving) {
+            desired.add(tile.box);
+        }
+        for (String car : cars) {
+            CarTile tile = visible.get(car);
+            if (tile == null) {
+                tile = acquire(car);
+                visible.put(car, tile);
+                animateIn(tile);
+            }
+            desired.add(tile.box);
+        }
+        syncChildren();
+    }
+
+    void clear() {
+        for (CarTile tile : visible.values()) {
+            release(tile);
+        }
+        for (CarTile tile : new ArrayList<>(leaving)) {
+            tile.exit.stop();
+            release(tile);
+        }
+        visible.clear();
+        leaving.clear();
+        pane.getChildren().clear();
+    }
+
+    // Appends in the common case, only rewrites the child list when the order really changed
+    private void syncChildren() {
+        ObservableList<Node> children = pane.getChildren();
+        int common = Math.min(children.size(), desired.size());
+        int match = 0;
+        while (match < common && children.get(match) == desired.get(match)) {
+            match++;
+        }
+        if (match == children.size()) {
+            if (match < desired.size()) {
+                children.addAll(desired.subList(match, desired.size()));
+            }
+        } else {
+            children.setAll(desired);
+        }
+    }
+
+    private void animateIn(CarTile tile) {
+        tile.box.setOpacity(0);
+        tile.box.setScaleX(0.8);
+        tile.box.setScaleY(0.8);
+        tile.enter.playFromStart();
+    }
+
+    private void animateOut(CarTile tile) {
+        tile.enter.stop();
+        leaving.add(tile);
+        tile.exit.setOnFinished(e -> {
+            leaving.remove(tile);
+            pane.getChildren().remove(tile.box);
+            release(tile);
+        });
+        tile.exit.playFromStart();
+    }
+
+    private CarTile acquire(String car) {
+        CarTile tile = pool.poll();
+        if (tile == null) {
+            tile = createTile();
+        }
+        tile.nameLabel.setText(car);
+        return tile;
+    }
+
+    private void release(CarTile tile) {
+        tile.enter.stop();
+        tile.box.setOpacity(1.0);
+        tile.box.setScaleX(1.0);
+        tile.box.setScaleY(1.0);
+        pool.push(tile);
+    }
+
+    private CarTile createTile() {
+        VBox carBox = new VBox(8);
+        carBox.setAlignment(Pos.CENTER);
+        carBox.setStyle("-fx-border-color: #3498db; -fx-border-width: 2.5; -fx-border-radius: 8; " +
+                "-fx-background-color: white; -fx-background-radius: 8; -fx-padding: 12; " +
+                "-fx-effect: dropshadow(gaussian, rgba(52, 152, 219, 0.3), 8, 0, 0, 2);");
+
+        Label carNameLabel = new Label();
+        carNameLabel.setFont(Font.font("System", FontWeight.BOLD, 12));
+        carNameLabel.setTextFill(Color.web("#2c3e50"));
+
+        carBox.getChildren().addAll(carIcon.get(), carNameLabel);
+        return new CarTile(carBox, carNameLabel);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.cws_gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class SimulationClockTest {
+
+    // Two cars due at the same simulated instant must still take two steps
+    @Test
+    public void stepReleasesOneSleeperAtATimeInStartOrder() throws Exception {
+        SimulationClock clock = new SimulationClock();
+        clock.pause();
+        long pausedAt = clock.now();
+        List<Integer> woken = new CopyOnWriteArrayList<>();
+        Thread first = sleeper(clock, 500, () -> woken.add(1));
+        first.start();
+        awaitParked(first);
+        Thread second = sleeper(clock, 500, () -> woken.add(2));
+        second.start();
+        awaitParked(second);
+
+        clock.step();
+        first.join(5000);
+        Thread.sleep(50);
+        assertEquals(List.of(1), woken);
+        assertEquals(pausedAt + TimeUnit.MILLISECONDS.toNanos(500), clock.now());
+
+        clock.step();
+        second.join(5000);
+        assertEquals(List.of(1, 2), woken);
+        assertEquals(pausedAt + TimeUnit.MILLISECONDS.toNanos(500), clock.now());
+    }
+
+    @Test
+    public void resumeAtHighSpeedFinishesASlowSleepPromptly() throws Exception {
+        SimulationClock clock = new SimulationClock();
+        clock.setSpeed(SimulationClock.MIN_SPEED);
+        List<Integer> woken = new CopyOnWriteArrayList<>();
+        Thread slow = sleeper(clock, 1000, () -> woken.add(1));
+        slow.start();
+        awaitParked(slow);
+        clock.setSpeed(SimulationClock.MAX_SPEED);
+        slow.join(5000);
+        assertEquals(List.of(1), woken);
+    }
+
+    private static Thread sleeper(SimulationClock clock, long millis, Runnable onWake) {
+        return new Thread(() -> {
+            try {
+                clock.sleep(millis);
+                onWake.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static void awaitParked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue("thread never parked", System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+}